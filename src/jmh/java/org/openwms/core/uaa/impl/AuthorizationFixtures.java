@@ -0,0 +1,83 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * AuthorizationFixtures builds {@link User}s with {@link Role}s and {@link Grant}s in memory.
+ *
+ * @author Heiko Scherrer
+ */
+final class AuthorizationFixtures {
+
+    private AuthorizationFixtures() {
+    }
+
+    /**
+     * Create an {@link User} with {@code roles} Roles, each with {@code grantsPerRole} Grants. Every second Role shares its Grants with the
+     * previous one, so that the flattening has duplicates to remove.
+     *
+     * @param username The username
+     * @param password The stored password hash
+     * @param roles The number of Roles
+     * @param grantsPerRole The number of Grants of each Role
+     * @return The User
+     */
+    static User user(String username, String password, int roles, int grantsPerRole) {
+        var user = new User(username, password);
+        user.setEnabled(true);
+        for (var r = 0; r < roles; r++) {
+            var role = new Role("ROLE_" + r);
+            role.setPersistentKey("R" + r);
+            var shared = r - r % 2;
+            for (var g = 0; g < grantsPerRole; g++) {
+                var grant = new Grant("SEC_" + shared + "_" + g, "");
+                grant.setPersistentKey("G" + shared + "_" + g);
+                role.addGrant(grant);
+            }
+            user.addRole(role);
+        }
+        return user;
+    }
+
+    /**
+     * Flatten an {@link User} into the {@link UserAuthentication} the authentication query returns.
+     *
+     * @param user The User
+     * @return The UserAuthentication
+     */
+    static UserAuthentication authentication(User user) {
+        var authorities = new HashSet<String>();
+        var keys = new HashSet<String>();
+        for (var role : user.getRoles()) {
+            keys.add(role.getPersistentKey());
+            for (var grant : role.getGrants()) {
+                authorities.add(grant.getName());
+                keys.add(grant.getPersistentKey());
+            }
+        }
+        return new UserAuthentication(user.getPersistentKey(), user.getUsername(), user.getPassword(), user.isEnabled(), user.isLocked(),
+                user.getExpirationDate(), Set.copyOf(authorities), Set.copyOf(keys));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A FindByUsernameAndPasswordBenchmark measures {@link UserServiceImpl#findByUsernameAndPassword(String, String)} for different password
+ * encoders and strengths, with and without the verified credential cache. The repository is stubbed.
+ *
+ * @author Heiko Scherrer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindByUsernameAndPasswordBenchmark {
+
+    @Param({"bcrypt-4", "bcrypt-10", "bcrypt-12", "pbkdf2"})
+    private String encoder;
+    @Param({"false", "true"})
+    private boolean credentialCache;
+    private UserServiceImpl testee;
+
+    @Setup
+    public void setUp() {
+        var enc = encoder(encoder);
+        var user = new User("tester", enc.encode("secret"));
+        var repository = Stubs.of(UserRepository.class, Map.of("findByUsername", args -> Optional.of(user)));
+        var registry = new SimpleMeterRegistry();
+        testee = new UserServiceImpl(repository, null, null, null, null, null, enc, null, null, null, null, null,
+                new CredentialCache(credentialCache, 1000, Duration.ofMinutes(5), registry),
+                new PasswordHashingExecutor(false, 1, 1, Duration.ofSeconds(1), registry),
+                new PasswordRehasher(false, enc, repository, null, registry),
+                null, "openwms", "openwms");
+    }
+
+    private static PasswordEncoder encoder(String name) {
+        if (name.startsWith("bcrypt-")) {
+            return new BCryptPasswordEncoder(Integer.parseInt(name.substring("bcrypt-".length())));
+        }
+        return Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+    }
+
+    @Benchmark
+    public Optional<User> matchingPassword() {
+        return testee.findByUsernameAndPassword("tester", "secret");
+    }
+
+    @Benchmark
+    public Optional<User> wrongPassword() {
+        return testee.findByUsernameAndPassword("tester", "wrong");
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openwms.core.uaa.UserService;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.cache.NullUserCache;
+import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A LoadUserByUsernameBenchmark measures {@link SecurityContextUserServiceImpl#loadUserByUsername(String)} with the {@code User} found in
+ * the user cache (hit) and with the {@code User} read and wrapped on each call (miss). The repository is stubbed, so the miss case
+ * measures the work of the service without database access.
+ *
+ * @author Heiko Scherrer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadUserByUsernameBenchmark {
+
+    @Param({"hit", "miss"})
+    private String cache;
+    @Param({"1", "10"})
+    private int roles;
+    private SecurityContextUserServiceImpl testee;
+
+    @Setup
+    public void setUp() throws Exception {
+        var user = AuthorizationFixtures.user("tester", "{noop}secret", roles, 10);
+        var authentication = AuthorizationFixtures.authentication(user);
+        var repository = Stubs.of(UserRepository.class, Map.of("findAuthentication", args -> Optional.of(authentication)));
+        var userCache = "hit".equals(cache)
+                ? new SpringCacheBasedUserCache(new ConcurrentMapCache("users"))
+                : new NullUserCache();
+        testee = new SecurityContextUserServiceImpl("openwms", Stubs.of(UserService.class, Map.of()), repository, userCache, null, NoOpPasswordEncoder.getInstance(),
+                new AuthoritySnapshots(false));
+        testee.loadUserByUsername("tester");
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return testee.loadUserByUsername("tester");
+    }
+}
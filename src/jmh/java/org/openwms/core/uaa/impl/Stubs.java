@@ -0,0 +1,62 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Stubs creates implementations of repository and service interfaces for benchmarks, that answer selected methods and fail on all others.
+ * Unlike mocks they do not record invocations, so they do not distort the measurements.
+ *
+ * @author Heiko Scherrer
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Create a stub.
+     *
+     * @param type The interface to implement
+     * @param answers The answer of each supported method, by method name, given the invocation arguments
+     * @param <T> The interface type
+     * @return The stub
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            var answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> type.getSimpleName() + "Stub";
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        });
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A LoadReport collects the latency, errors and dropped requests of each scenario with Micrometer meters and summarizes them after the run.
+ * Percentiles are calculated over the whole measured phase and not over a sliding window.
+ *
+ * @author Heiko Scherrer
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * The summary of one scenario, all times in milliseconds.
+     */
+    record Result(String scenario, long requests, long errors, long dropped, double throughput, double mean, double p50, double p90,
+                  double p95, double p99, double max) {
+    }
+
+    void register(String scenario) {
+        latencies.put(scenario, Timer.builder("loadtest.latency")
+                .tag("scenario", scenario)
+                .publishPercentiles(PERCENTILES)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(registry));
+    }
+
+    void success(String scenario, long nanos) {
+        latencies.get(scenario).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void error(String scenario) {
+        counter("loadtest.errors", scenario).increment();
+    }
+
+    void dropped(String scenario) {
+        counter("loadtest.dropped", scenario).increment();
+    }
+
+    private Counter counter(String name, String scenario) {
+        return registry.counter(name, "scenario", scenario);
+    }
+
+    /**
+     * Summarize all scenarios.
+     *
+     * @param duration The duration of the measured phase, to calculate the throughput with
+     * @return One Result per scenario
+     */
+    List<Result> results(Duration duration) {
+        var seconds = duration.toMillis() / 1000d;
+        return latencies.entrySet().stream().sorted(Map.Entry.comparingByKey()).map(e -> {
+            var snapshot = e.getValue().takeSnapshot();
+            var p = new double[PERCENTILES.length];
+            var values = snapshot.percentileValues();
+            for (var i = 0; i < values.length && i < p.length; i++) {
+                p[i] = values[i].value(TimeUnit.MILLISECONDS);
+            }
+            var requests = snapshot.count();
+            return new Result(e.getKey(), requests, (long) counter("loadtest.errors", e.getKey()).count(),
+                    (long) counter("loadtest.dropped", e.getKey()).count(), requests / seconds, snapshot.mean(TimeUnit.MILLISECONDS),
+                    p[0], p[1], p[2], p[3], snapshot.max(TimeUnit.MILLISECONDS));
+        }).toList();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A UAALoadTest boots the UAA service on an in-memory H2 database with the Spring profile {@code TEST}, seeds Users and a Role through
+ * the REST API and drives a mixed {@link Workload} against the {@code UserController}, {@code RoleController} and {@code GrantController}.
+ * Requests are issued at a fixed rate per scenario (open model), independent of the response times, so a slow service shows up in the
+ * latencies instead of lowering the load. Eureka, the config server and the OTLP export are disabled. The summary is logged with the
+ * level {@code INFO} and the full report is written as JSON to the {@code output} file.
+ * <p>
+ * Options are passed as {@code key=value} arguments:
+ * <ul>
+ *     <li>{@code users} - Number of seeded Users (default 100)</li>
+ *     <li>{@code warmup} - Duration of the warm-up phase that is not measured (default 10s)</li>
+ *     <li>{@code duration} - Duration of the measured phase (default 60s)</li>
+ *     <li>{@code max-in-flight} - Requests that may wait for a response, further requests are dropped and reported (default 256)</li>
+ *     <li>{@code rate.<scenario>} - Requests per second of a scenario, {@code 0} disables it</li>
+ *     <li>{@code output} - File the JSON report is written to (default target/loadtest-result.json)</li>
+ * </ul>
+ *
+ * @author Heiko Scherrer
+ */
+public final class UAALoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UAALoadTest.class);
+
+    private UAALoadTest() {
+    }
+
+    /**
+     * Run the load test.
+     *
+     * @param args Options as {@code key=value}
+     */
+    public static void main(String[] args) throws Exception {
+        var options = new HashMap<String, String>();
+        for (var arg : args) {
+            var kv = arg.split("=", 2);
+            options.put(kv[0], kv.length > 1 ? kv[1] : "");
+        }
+        var users = Integer.parseInt(options.getOrDefault("users", "100"));
+        var warmup = DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s"));
+        var duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "60s"));
+        var maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "256"));
+        var output = Path.of(options.getOrDefault("output", "target/loadtest-result.json"));
+
+        try (var ctx = new SpringApplicationBuilder(UAATestStarter.class)
+                .profiles("TEST")
+                .properties(
+                        "server.port=0",
+                        "eureka.client.enabled=false",
+                        "management.tracing.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.main.banner-mode=OFF",
+                        "logging.level.root=WARN",
+                        "logging.level.org.openwms.core.uaa.UAALoadTest=INFO"
+                ).run()) {
+            var env = ctx.getEnvironment();
+            var baseUri = URI.create("http://localhost:%s%s".formatted(env.getProperty("local.server.port"),
+                    env.getProperty("server.servlet.context-path", "")));
+            var objectMapper = ctx.getBean(ObjectMapper.class);
+            var workload = new Workload(baseUri, HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build(), objectMapper);
+            workload.seed(users);
+
+            var report = new LoadReport();
+            drive(workload, rates(workload, options), warmup, null, maxInFlight);
+            drive(workload, rates(workload, options), duration, report, maxInFlight);
+
+            var results = report.results(duration);
+            LOGGER.info(String.format("%-16s %9s %7s %8s %9s %9s %9s %9s %9s %9s", "scenario", "requests", "errors", "dropped", "req/s",
+                    "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+            results.forEach(r -> LOGGER.info(String.format("%-16s %9d %7d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f", r.scenario(),
+                    r.requests(), r.errors(), r.dropped(), r.throughput(), r.p50(), r.p90(), r.p95(), r.p99(), r.max())));
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), results);
+            LOGGER.info("Report written to [{}]", output.toAbsolutePath());
+        }
+    }
+
+    private static Map<Workload.Scenario, Integer> rates(Workload workload, Map<String, String> options) {
+        var rates = new HashMap<Workload.Scenario, Integer>();
+        for (var rated : workload.scenarios()) {
+            var rate = Integer.parseInt(options.getOrDefault("rate." + rated.scenario().name(), String.valueOf(rated.rate())));
+            if (rate > 0) {
+                rates.put(rated.scenario(), rate);
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * Drive all scenarios at their rates for the given duration and wait for the outstanding responses. Nothing is recorded when the
+     * {@code report} is {@literal null}.
+     */
+    private static void drive(Workload workload, Map<Workload.Scenario, Integer> rates, Duration duration, LoadReport report,
+            int maxInFlight) throws InterruptedException {
+        var inFlight = new Semaphore(maxInFlight);
+        var scheduler = Executors.newScheduledThreadPool(Math.max(1, rates.size()));
+        rates.forEach((scenario, rate) -> {
+            if (report != null) {
+                report.register(scenario.name());
+            }
+            scheduler.scheduleAtFixedRate(() -> fire(scenario, inFlight, report), 0, TimeUnit.SECONDS.toNanos(1) / rate,
+                    TimeUnit.NANOSECONDS);
+        });
+        Thread.sleep(duration.toMillis());
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        if (!inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+            LOGGER.warn("Responses still outstanding after 30s");
+        }
+    }
+
+    private static void fire(Workload.Scenario scenario, Semaphore inFlight, LoadReport report) {
+        if (!inFlight.tryAcquire()) {
+            if (report != null) {
+                report.dropped(scenario.name());
+            }
+            return;
+        }
+        var start = System.nanoTime();
+        CompletableFuture<Integer> execution;
+        try {
+            execution = scenario.execution().get();
+        } catch (RuntimeException e) {
+            execution = CompletableFuture.failedFuture(e);
+        }
+        execution.whenComplete((status, ex) -> {
+            inFlight.release();
+            if (report == null) {
+                return;
+            }
+            if (ex == null && status / 100 == 2) {
+                report.success(scenario.name(), System.nanoTime() - start);
+            } else {
+                report.error(scenario.name());
+            }
+        });
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openwms.core.uaa.api.CredentialsVO;
+import org.openwms.core.uaa.api.EmailVO;
+import org.openwms.core.uaa.api.PasswordString;
+import org.openwms.core.uaa.api.RoleVO;
+import org.openwms.core.uaa.api.UserVO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.openwms.core.uaa.api.UAAConstants.API_GRANTS;
+import static org.openwms.core.uaa.api.UAAConstants.API_ROLES;
+import static org.openwms.core.uaa.api.UAAConstants.API_USERS;
+
+/**
+ * A Workload seeds the Users and the Role the load test works on and offers the {@link Scenario}s that are driven against the REST API.
+ *
+ * @author Heiko Scherrer
+ */
+final class Workload {
+
+    private static final String PASSWORD = "LoadTest#2024";
+    private final URI baseUri;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final List<UserVO> users = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private String rolePKey;
+
+    Workload(URI baseUri, HttpClient client, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.client = client;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * A Scenario is one kind of interaction with the API. Its execution completes with the HTTP status code of the last response.
+     *
+     * @param name The name the results are reported with
+     * @param execution Starts one execution
+     */
+    record Scenario(String name, Supplier<CompletableFuture<Integer>> execution) {
+    }
+
+    /**
+     * A Scenario with the rate it is driven with by default.
+     *
+     * @param scenario The Scenario
+     * @param rate Requests per second
+     */
+    record Rated(Scenario scenario, int rate) {
+    }
+
+    /**
+     * Create the Role {@code ROLE_LOADTEST} and the given number of Users, each with a primary email address and a password.
+     *
+     * @param count The number of Users to create
+     */
+    void seed(int count) {
+        var role = send(post(API_ROLES, RoleVO.newBuilder().name("ROLE_LOADTEST").description("Load test role").build()), RoleVO.class);
+        rolePKey = role.getpKey();
+        for (var i = 0; i < count; i++) {
+            var vo = new UserVO("loadtest-" + i);
+            vo.setEmailAddresses(List.of(new EmailVO("loadtest-" + i + "@example.com", true)));
+            var user = send(post(API_USERS, vo), UserVO.class);
+            send(post(API_USERS + "/" + user.getpKey() + "/password", new PasswordString(PASSWORD)), UserVO.class);
+            users.add(user);
+        }
+    }
+
+    /**
+     * Get all Scenarios with their default rates, in requests per second.
+     * <ul>
+     *     <li>{@code authenticate} - Verify the credentials of a User</li>
+     *     <li>{@code findByUsername} - Find a User by username</li>
+     *     <li>{@code listUsers}, {@code listRoles}, {@code listGrants} - List all Users, Roles or Grants</li>
+     *     <li>{@code update} - Read a User and write it back with a changed full name</li>
+     *     <li>{@code assignRole} - Alternately assign a User to and unassign it from the Role</li>
+     * </ul>
+     *
+     * @return Each Scenario with its default rate
+     */
+    List<Rated> scenarios() {
+        return List.of(
+                new Rated(new Scenario("authenticate", () -> status(post(API_USERS + "/authenticate",
+                        new CredentialsVO(nextUser().getUsername(), PASSWORD)))), 50),
+                new Rated(new Scenario("findByUsername", () -> status(get(API_USERS + "?username=" + nextUser().getUsername()))), 100),
+                new Rated(new Scenario("listUsers", () -> status(get(API_USERS))), 10),
+                new Rated(new Scenario("listRoles", () -> status(get(API_ROLES))), 10),
+                new Rated(new Scenario("listGrants", () -> status(get(API_GRANTS))), 10),
+                new Rated(new Scenario("update", this::update), 5),
+                new Rated(new Scenario("assignRole", this::assignRole), 5)
+        );
+    }
+
+    private CompletableFuture<Integer> update() {
+        var user = nextUser();
+        return client.sendAsync(get(API_USERS + "/" + user.getpKey()), HttpResponse.BodyHandlers.ofByteArray())
+                .thenCompose(response -> {
+                    if (response.statusCode() != 200) {
+                        return CompletableFuture.completedFuture(response.statusCode());
+                    }
+                    var vo = read(response.body(), UserVO.class);
+                    vo.setFullname("Load Test " + sequence.get());
+                    return status(put(API_USERS + "/" + vo.getpKey(), vo));
+                });
+    }
+
+    private CompletableFuture<Integer> assignRole() {
+        var n = sequence.getAndIncrement();
+        var user = users.get((int) ((n / 2) % users.size()));
+        var uri = baseUri.resolve(baseUri.getPath() + API_ROLES + "/" + rolePKey + "/users/" + user.getpKey());
+        var request = n % 2 == 0
+                ? HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build()
+                : HttpRequest.newBuilder(uri).DELETE().build();
+        return status(request);
+    }
+
+    private UserVO nextUser() {
+        return users.get((int) (sequence.getAndIncrement() % users.size()));
+    }
+
+    private CompletableFuture<Integer> status(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(baseUri.getPath() + path)).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return HttpRequest.newBuilder(baseUri.resolve(baseUri.getPath() + path))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(body)))
+                .build();
+    }
+
+    private HttpRequest put(String path, Object body) {
+        return HttpRequest.newBuilder(baseUri.resolve(baseUri.getPath() + path))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(write(body)))
+                .build();
+    }
+
+    private <T> T send(HttpRequest request, Class<T> type) {
+        try {
+            var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("Seeding failed with [%d] on [%s]".formatted(response.statusCode(), request.uri()));
+            }
+            return read(response.body(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Seeding interrupted", e);
+        }
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.ameba.http.MeasuredRestController;
+import org.openwms.core.http.AbstractWebController;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import static org.openwms.core.uaa.api.UAAConstants.API_CHANGES;
+
+/**
+ * A ChangeController offers the change feed of the UAA entities.
+ *
+ * @author Heiko Scherrer
+ */
+@Validated
+@MeasuredRestController
+public class ChangeController extends AbstractWebController {
+
+    private static final int DEFAULT_SIZE = 500;
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    @GetMapping(API_CHANGES)
+    public ResponseEntity<ChangeFeed> findChanges(
+            @RequestParam(value = "since", required = false) @Min(0) Long since,
+            @RequestParam(value = "size", required = false) @Min(1) @Max(1000) Integer size) {
+        return ResponseEntity.ok(changeFeedService.findChanges(
+                since == null ? 0 : since,
+                size == null ? DEFAULT_SIZE : size
+        ));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.openwms.core.uaa.TimeProvider.DATE_TIME_MILLIS_WITH_TIMEZONE;
+
+/**
+ * A ChangeFeed is a chunk of the change log of the UAA entities.
+ *
+ * @param token The watermark to pass as {@code since} to read the following changes
+ * @param more Whether more changes exist after the {@code token}
+ * @param changes The changed entities, each entity only once with its latest change, ordered by the time of the change
+ * @author Heiko Scherrer
+ */
+public record ChangeFeed(long token, boolean more, List<Change> changes) {
+
+    /** The kinds of entities that are tracked in the change log. */
+    public enum EntityType {
+        USER,
+        ROLE,
+        GRANT
+    }
+
+    /**
+     * A changed entity.
+     *
+     * @param entity The kind of entity
+     * @param pKey The persistent key of the entity
+     * @param type The type of the latest change, like {@code CREATED}, {@code MODIFIED} or {@code DELETED}
+     * @param occurredAt When the change happened
+     */
+    public record Change(EntityType entity, String pKey, String type,
+            @JsonFormat(pattern = DATE_TIME_MILLIS_WITH_TIMEZONE) ZonedDateTime occurredAt) {
+    }
+}
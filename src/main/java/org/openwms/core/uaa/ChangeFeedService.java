@@ -0,0 +1,38 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A ChangeFeedService offers the changes of {@code User}s, {@code Role}s and {@code Grant}s incrementally, so that other services can
+ * replicate them without reading all entities again.
+ *
+ * @author Heiko Scherrer
+ */
+public interface ChangeFeedService {
+
+    /**
+     * Find the entities that changed after the watermark {@code since}. Changes that have just been committed may be delayed for a short
+     * settle time, so that changes of transactions that are still running are not skipped.
+     *
+     * @param since The {@code token} of a previous feed, {@code 0} to start with the oldest change
+     * @param size The maximum number of changes to read from the log
+     * @return The changes and the next watermark
+     */
+    @NotNull ChangeFeed findChanges(@Min(0) long since, @Min(1) int size);
+}
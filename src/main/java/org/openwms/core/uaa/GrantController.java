@@ -15,6 +15,7 @@
  */
 package org.openwms.core.uaa;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -26,6 +27,7 @@ import org.openwms.core.uaa.api.GrantVO;
 import org.openwms.core.uaa.api.ValidationGroups;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -34,10 +36,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.ameba.Constants.HEADER_VALUE_X_IDENTITY;
+import static org.openwms.core.uaa.NdjsonExport.MEDIA_TYPE_NDJSON;
 import static org.openwms.core.uaa.api.UAAConstants.API_GRANTS;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -53,10 +58,12 @@ public class GrantController extends AbstractWebController {
 
     private final GrantService grantService;
     private final GrantMapper mapper;
+    private final ObjectMapper objectMapper;
 
-    public GrantController(GrantService grantService, GrantMapper mapper) {
+    public GrantController(GrantService grantService, GrantMapper mapper, ObjectMapper objectMapper) {
         this.grantService = grantService;
         this.mapper = mapper;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping(API_GRANTS + "/index")
@@ -66,6 +73,7 @@ public class GrantController extends AbstractWebController {
                 new Index(
                         linkTo(methodOn(GrantController.class).findByPKey("pKey")).withRel("grant-findbypkey"),
                         linkTo(methodOn(GrantController.class).findAllGrants()).withRel("grant-findall"),
+                        linkTo(methodOn(GrantController.class).exportGrants()).withRel("grant-export"),
                         linkTo(methodOn(GrantController.class).findAllForUser("user")).withRel("grant-findallforuser"),
                         linkTo(methodOn(GrantController.class).createGrant(new GrantVO(), null)).withRel("grant-create")
                 )
@@ -87,8 +95,7 @@ public class GrantController extends AbstractWebController {
     @GetMapping(API_GRANTS)
     public ResponseEntity<List<GrantVO>> findAllGrants() {
 
-        var grants = grantService.findAllGrants();
-        var vos = mapper.convertToVOs(grants);
+        var vos = grantService.findAllVOs();
         vos.forEach(this::addSelfLink);
         return ResponseEntity
                 .status(HttpStatus.OK)
@@ -96,6 +103,13 @@ public class GrantController extends AbstractWebController {
                 .body(vos);
     }
 
+    @GetMapping(value = API_GRANTS + "/export", produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportGrants() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(MEDIA_TYPE_NDJSON))
+                .body(NdjsonExport.of(objectMapper, (Consumer<GrantVO> c) -> grantService.exportAll(grant -> c.accept(mapper.convertToVO(grant)))));
+    }
+
     @Transactional(readOnly = true)
     @GetMapping(path = API_GRANTS, headers = HEADER_VALUE_X_IDENTITY)
     public ResponseEntity<List<GrantVO>> findAllForUser(@NotBlank @RequestHeader(HEADER_VALUE_X_IDENTITY) String user) {
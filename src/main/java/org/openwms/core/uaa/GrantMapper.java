@@ -21,6 +21,7 @@ import org.mapstruct.SubclassMapping;
 import org.openwms.core.uaa.api.GrantVO;
 import org.openwms.core.uaa.api.SecurityObjectVO;
 import org.openwms.core.uaa.impl.Grant;
+import org.openwms.core.uaa.impl.GrantView;
 import org.openwms.core.uaa.impl.SecurityObject;
 
 import java.util.List;
@@ -41,6 +42,11 @@ public interface GrantMapper {
 
     List<GrantVO> convertToVOs(List<Grant> eo);
 
+    @Mapping(source = "pKey", target = "pKey")
+    GrantVO convertViewToVO(GrantView view);
+
+    List<GrantVO> convertViewsToVOs(List<GrantView> views);
+
     @SubclassMapping(source = GrantVO.class, target = Grant.class)
     @Mapping(source = "pKey", target = "persistentKey")
     @Mapping(source = "name", target = "name")
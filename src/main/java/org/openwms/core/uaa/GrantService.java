@@ -18,10 +18,12 @@ package org.openwms.core.uaa;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.openwms.core.uaa.api.GrantVO;
 import org.openwms.core.uaa.api.ValidationGroups;
 import org.openwms.core.uaa.impl.Grant;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A GrantService defines functionality to handle {@code GrantService}s.
@@ -46,6 +48,22 @@ public interface GrantService {
      */
     @NotNull List<Grant> findAllGrants();
 
+    /**
+     * Find and return all existing {@link Grant}s as value objects, read without loading the entities.
+     *
+     * @return All existing Grants
+     */
+    @NotNull List<GrantVO> findAllVOs();
+
+    /**
+     * Pass all existing {@link Grant}s one after another to the {@code consumer}, ordered by their primary key. The Grants are read with a
+     * bounded fetch size and are detached in chunks, hence they must not be kept or modified by the consumer.
+     *
+     * @param consumer Receives each Grant within the reading transaction
+     * @return The number of exported Grants
+     */
+    long exportAll(@NotNull Consumer<Grant> consumer);
+
     /**
      * Find and return all {@link Grant}s assigned to an {@code User}.
      *
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa;
+
+import org.ameba.exception.ServiceLayerException;
+
+import java.time.Duration;
+
+/**
+ * A HashingCapacityExceededException signals that a password could not be hashed or verified because all hashing threads are busy and
+ * the waiting queue is full. Clients are expected to retry after {@link #getRetryAfter()}.
+ *
+ * @author Heiko Scherrer
+ */
+public class HashingCapacityExceededException extends ServiceLayerException {
+
+    private final transient Duration retryAfter;
+
+    /**
+     * Create a new HashingCapacityExceededException.
+     *
+     * @param message The message text
+     * @param retryAfter The time a client should wait before retrying
+     */
+    public HashingCapacityExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Return the time a client should wait before retrying.
+     *
+     * @return The duration to wait
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
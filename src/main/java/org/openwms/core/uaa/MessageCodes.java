@@ -38,6 +38,14 @@ public final class MessageCodes {
     public static final String USER_SAVE_NOT_BE_NULL = "user.save.null.argument";
     /** Thrown if changing a User's password was requested, but the new password does not match the defined password rules. */
     public static final String USER_PW_INVALID = "user.password.invalid";
+    /** Thrown if the image of an User has been requested but the User has no image. */
+    public static final String USER_IMAGE_NOT_EXIST = "user.image.not.exist";
+    /** Reported if a line of a User import cannot be read. */
+    public static final String USER_IMPORT_MALFORMED = "user.import.malformed";
+    /** Reported if an imported User conflicts with stored data. */
+    public static final String USER_IMPORT_CONFLICT = "user.import.conflict";
+    /** Reported if an imported User could not be stored. */
+    public static final String USER_IMPORT_FAILED = "user.import.failed";
 
     /** Thrown if a Role has been looked up by persistent key but hasn't been found. */
     public static final String ROLE_WITH_PKEY_NOT_EXIST = "role.pkey.not.exist";
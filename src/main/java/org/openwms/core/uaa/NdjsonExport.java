@@ -0,0 +1,67 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * A NdjsonExport writes the items of an export as NDJSON, one JSON document per line, to the response while they are read.
+ *
+ * @author Heiko Scherrer
+ */
+final class NdjsonExport {
+
+    /** The media type of NDJSON. */
+    static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private NdjsonExport() {
+    }
+
+    /**
+     * Create a response body that runs the {@code export} when the response is written.
+     *
+     * @param objectMapper Used to serialize each item
+     * @param export Passes each item to the given consumer
+     * @param <T> The type of the items
+     * @return The response body
+     */
+    static <T> StreamingResponseBody of(ObjectMapper objectMapper, ToLongFunction<Consumer<T>> export) {
+        return out -> {
+            var buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+            try {
+                export.applyAsLong(item -> {
+                    try {
+                        buffered.write(objectMapper.writeValueAsBytes(item));
+                        buffered.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffered.flush();
+        };
+    }
+}
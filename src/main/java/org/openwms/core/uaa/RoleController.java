@@ -15,8 +15,12 @@
  */
 package org.openwms.core.uaa;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import org.ameba.http.MeasuredRestController;
 import org.openwms.core.http.AbstractWebController;
@@ -27,8 +31,11 @@ import org.openwms.core.uaa.api.UserVO;
 import org.openwms.core.uaa.api.ValidationGroups;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -37,10 +44,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.openwms.core.uaa.NdjsonExport.MEDIA_TYPE_NDJSON;
 import static org.openwms.core.uaa.api.UAAConstants.API_ROLES;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -55,10 +66,13 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class RoleController extends AbstractWebController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RoleController.class);
+    private static final int DEFAULT_USERS_SIZE = 100;
     private final RoleService roleService;
+    private final ObjectMapper objectMapper;
 
-    public RoleController(RoleService roleService) {
+    public RoleController(RoleService roleService, ObjectMapper objectMapper) {
         this.roleService = roleService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping(API_ROLES + "/index")
@@ -68,13 +82,16 @@ public class RoleController extends AbstractWebController {
                 new Index(
                         linkTo(methodOn(RoleController.class).findByPKey("pKey")).withRel("roles-findbypkey"),
                         linkTo(methodOn(RoleController.class).findAllRoles()).withRel("roles-findall"),
-                        linkTo(methodOn(RoleController.class).findUsersOfRole("pKey")).withRel("roles-findusersofrole"),
+                        linkTo(methodOn(RoleController.class).exportRoles()).withRel("roles-export"),
+                        linkTo(methodOn(RoleController.class).findUsersOfRole("pKey", null, null)).withRel("roles-findusersofrole"),
                         linkTo(methodOn(RoleController.class).findGrantsOfRole("pKey")).withRel("roles-findgrantsofrole"),
                         linkTo(methodOn(RoleController.class).create(new RoleVO(), null)).withRel("roles-create"),
                         linkTo(methodOn(RoleController.class).save("pKey", new RoleVO())).withRel("roles-save"),
                         linkTo(methodOn(RoleController.class).delete("pKey")).withRel("roles-delete"),
                         linkTo(methodOn(RoleController.class).assignUserToRole("pKey", "userPKey")).withRel("roles-assignuser"),
-                        linkTo(methodOn(RoleController.class).unassignUser("pKey", "userPKey")).withRel("roles-unassignuser")
+                        linkTo(methodOn(RoleController.class).unassignUser("pKey", "userPKey")).withRel("roles-unassignuser"),
+                        linkTo(methodOn(RoleController.class).assignUsersToRole("pKey", List.of("userPKey"))).withRel("roles-assignusers"),
+                        linkTo(methodOn(RoleController.class).unassignUsers("pKey", List.of("userPKey"))).withRel("roles-unassignusers")
                 )
         );
     }
@@ -93,7 +110,7 @@ public class RoleController extends AbstractWebController {
 
     @GetMapping(API_ROLES)
     public ResponseEntity<List<RoleVO>> findAllRoles() {
-        var result = roleService.findAll();
+        var result = roleService.findAllVOs();
         result.forEach(vo -> {
             replaceUsers(vo);
             addSelfLink(vo);
@@ -104,14 +121,28 @@ public class RoleController extends AbstractWebController {
                 .body(result);
     }
 
+    @GetMapping(value = API_ROLES + "/export", produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportRoles() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(MEDIA_TYPE_NDJSON))
+                .body(NdjsonExport.of(objectMapper, roleService::exportAll));
+    }
+
     @GetMapping(API_ROLES + "/{pKey}/users")
-    public ResponseEntity<List<UserVO>> findUsersOfRole(@PathVariable("pKey") String pKey) {
+    public ResponseEntity<List<UserVO>> findUsersOfRole(@PathVariable("pKey") String pKey,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "size", required = false) @Min(1) @Max(1000) Integer size) {
 
-        var result = roleService.findByPKey(pKey);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .header(HttpHeaders.CONTENT_TYPE, UserVO.MEDIA_TYPE)
-                .body(new ArrayList<>(result.getUsers()));
+        var result = roleService.findUsers(pKey, after, size == null ? DEFAULT_USERS_SIZE : size);
+        var response = ResponseEntity.status(HttpStatus.OK).header(HttpHeaders.CONTENT_TYPE, UserVO.MEDIA_TYPE);
+        if (result.hasNext()) {
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", result.getContent().get(result.getNumberOfElements() - 1).getUsername())
+                    .replaceQueryParam("size", result.getSize())
+                    .build().encode().toUriString();
+            response.header(HttpHeaders.LINK, Link.of(next, IanaLinkRelations.NEXT).toString());
+        }
+        return response.body(result.getContent());
     }
 
     @GetMapping(API_ROLES + "/{pKey}/grants")
@@ -190,6 +221,30 @@ public class RoleController extends AbstractWebController {
                 .body(result);
     }
 
+    @PostMapping(API_ROLES + "/{pKey}/users")
+    public ResponseEntity<RoleVO> assignUsersToRole(@PathVariable("pKey") String pKey, @RequestBody @NotEmpty List<String> userPKeys) {
+
+        var result = roleService.assignUsers(pKey, userPKeys);
+        replaceUsers(result);
+        addSelfLink(result);
+        return ResponseEntity
+                .ok()
+                .header(HttpHeaders.CONTENT_TYPE, RoleVO.MEDIA_TYPE)
+                .body(result);
+    }
+
+    @DeleteMapping(API_ROLES + "/{pKey}/users")
+    public ResponseEntity<RoleVO> unassignUsers(@PathVariable("pKey") String pKey, @RequestBody @NotEmpty List<String> userPKeys) {
+
+        var result = roleService.unassignUsers(pKey, userPKeys);
+        replaceUsers(result);
+        addSelfLink(result);
+        return ResponseEntity
+                .ok()
+                .header(HttpHeaders.CONTENT_TYPE, RoleVO.MEDIA_TYPE)
+                .body(result);
+    }
+
     @DeleteMapping(API_ROLES + "/{pKey}/grants/{grantPKey}")
     public ResponseEntity<RoleVO> unassignGrant(@PathVariable("pKey") String pKey, @PathVariable("grantPKey") String grantPKey) {
 
@@ -203,7 +258,7 @@ public class RoleController extends AbstractWebController {
     }
 
     private void replaceUsers(RoleVO role) {
-        role.add(linkTo(methodOn(RoleController.class).findUsersOfRole(role.getpKey())).withRel("users"));
+        role.add(linkTo(methodOn(RoleController.class).findUsersOfRole(role.getpKey(), null, null)).withRel("users"));
         role.getUsers().clear();
         role.add(linkTo(methodOn(RoleController.class).findGrantsOfRole(role.getpKey())).withRel("grants"));
         role.getGrants().clear();
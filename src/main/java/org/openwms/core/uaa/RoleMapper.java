@@ -15,15 +15,21 @@
  */
 package org.openwms.core.uaa;
 
+import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.NullValueCheckStrategy;
 import org.mapstruct.SubclassMapping;
 import org.openwms.core.uaa.api.RoleVO;
 import org.openwms.core.uaa.api.SecurityObjectVO;
+import org.openwms.core.uaa.api.UserVO;
 import org.openwms.core.uaa.impl.Role;
+import org.openwms.core.uaa.impl.RoleView;
 import org.openwms.core.uaa.impl.SecurityObject;
+import org.openwms.core.uaa.impl.UserSummary;
 
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -41,6 +47,32 @@ public interface RoleMapper {
 
     List<RoleVO> convertToVO(List<Role> eo);
 
+    @Named("convertToVOWithoutUsers")
+    @Mapping(source = "persistentKey", target = "pKey")
+    @Mapping(source = "ol", target = "ol" )
+    @Mapping(target = "users", ignore = true)
+    RoleVO convertToVOWithoutUsers(Role eo);
+
+    @IterableMapping(qualifiedByName = "convertToVOWithoutUsers")
+    List<RoleVO> convertToVOWithoutUsers(List<Role> eo);
+
+    @Mapping(source = "pKey", target = "pKey")
+    @Mapping(target = "emailAddresses", ignore = true)
+    UserVO convertSummaryToVO(UserSummary summary);
+
+    default RoleVO convertViewToVO(RoleView view) {
+        return RoleVO.newBuilder()
+                .pKey(view.pKey())
+                .ol(view.ol())
+                .name(view.name())
+                .description(view.description())
+                .immutable(view.immutable())
+                .grants(new HashSet<>())
+                .build();
+    }
+
+    List<RoleVO> convertViewsToVO(List<RoleView> views);
+
     @Mapping(source = "pKey", target = "persistentKey")
     @Mapping(source = "users", target = "users", nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
     @Mapping(source = "grants", target = "grants", nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS)
@@ -16,23 +16,35 @@
 package org.openwms.core.uaa;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.openwms.core.uaa.api.RoleVO;
+import org.openwms.core.uaa.api.UserVO;
 import org.openwms.core.uaa.api.ValidationGroups;
 import org.openwms.core.uaa.impl.Role;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * A RoleService provides business functionality regarding the handling with {@link Role}s. The service deals directly with business
  * objects, even those are currently acting as entities as well. But this may change in future and should not influence the interface.
+ * <p>
+ * Returned {@link RoleVO}s do not contain the assigned {@code User}s, these are queried with {@link #findUsers(String, String, int)}.
+ * Assigning and unassigning a {@code User} does not load the assigned {@code User}s either.
  *
  * @author Heiko Scherrer
  * @see Role
  */
 public interface RoleService {
 
+    /** The maximum number of Users to assign or unassign at once. */
+    int MAX_BULK_USERS = 1000;
+
     /**
      * Find and return all existing Roles.
      *
@@ -40,6 +52,22 @@ public interface RoleService {
      */
     @NotNull List<RoleVO> findAll();
 
+    /**
+     * Find and return all existing Roles without their Users and Grants, read without loading the entities.
+     *
+     * @return All Roles or an empty collection type, never {@literal null}
+     */
+    @NotNull List<RoleVO> findAllVOs();
+
+    /**
+     * Pass all existing Roles one after another to the {@code consumer}, ordered by their primary key. The Roles are read with a bounded
+     * fetch size and their assigned Users are not included.
+     *
+     * @param consumer Receives each Role
+     * @return The number of exported Roles
+     */
+    long exportAll(@NotNull Consumer<RoleVO> consumer);
+
     /**
      * Find and return a {@code Role}.
      *
@@ -49,6 +77,18 @@ public interface RoleService {
      */
     @NotNull RoleVO findByPKey(@NotBlank String pKey);
 
+    /**
+     * Find a slice of the {@code User}s assigned to a {@code Role}, ordered by username. The Users are returned as summaries with persistent
+     * key, username, fullname and the enabled and locked flags only.
+     *
+     * @param pKey The persistent key of the existing Role
+     * @param after Only Users with a username greater than this one are returned, {@literal null} to start with the first one
+     * @param size The maximum number of Users to return
+     * @return The slice
+     * @throws org.ameba.exception.NotFoundException If the Role does not exist
+     */
+    @NotNull Slice<UserVO> findUsers(@NotBlank String pKey, String after, @Min(1) int size);
+
     /**
      * Find and return all existing {@link Role}s.
      *
@@ -101,6 +141,28 @@ public interface RoleService {
      */
     @NotNull RoleVO unassignUser(@NotBlank String pKey, @NotBlank String userPKey);
 
+    /**
+     * Assign a list of {@code User}s to a {@code Role} at once. Users that are already assigned are skipped, one event is published for all
+     * newly assigned Users.
+     *
+     * @param pKey The persistent key of the existing Role
+     * @param userPKeys The persistent keys of the existing Users
+     * @return The updated Role instance
+     * @throws org.ameba.exception.NotFoundException If the Role or any of the Users does not exist, nothing is assigned then
+     */
+    @NotNull RoleVO assignUsers(@NotBlank String pKey, @NotEmpty @Size(max = MAX_BULK_USERS) List<@NotBlank String> userPKeys);
+
+    /**
+     * Unassign a list of {@code User}s from a {@code Role} at once. Users that are not assigned are skipped, one event is published for all
+     * unassigned Users.
+     *
+     * @param pKey The persistent key of the existing Role
+     * @param userPKeys The persistent keys of the existing Users
+     * @return The updated Role instance
+     * @throws org.ameba.exception.NotFoundException If the Role or any of the Users does not exist, nothing is unassigned then
+     */
+    @NotNull RoleVO unassignUsers(@NotBlank String pKey, @NotEmpty @Size(max = MAX_BULK_USERS) List<@NotBlank String> userPKeys);
+
     /**
      * Unassign an assigned {@code Grant} from a {@code Role}.
      *
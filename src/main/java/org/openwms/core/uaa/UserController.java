@@ -15,6 +15,7 @@
  */
 package org.openwms.core.uaa;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -33,25 +34,45 @@ import org.openwms.core.uaa.api.UserVO;
 import org.openwms.core.uaa.api.ValidationGroups;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.openwms.core.uaa.MessageCodes.USER_IMAGE_NOT_EXIST;
 import static org.openwms.core.uaa.MessageCodes.USER_WITH_NAME_NOT_EXIST;
+import static org.openwms.core.uaa.NdjsonExport.MEDIA_TYPE_NDJSON;
 import static org.openwms.core.uaa.api.UAAConstants.API_USERS;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
@@ -68,19 +89,24 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 public class UserController extends AbstractWebController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UserController.class);
+    private static final String MEDIA_TYPE_CSV = "text/csv";
     private final Translator translator;
     private final UserService userService;
     private final UserMapper userMapper;
     private final RoleMapper roleMapper;
     private final SecurityObjectMapper securityObjectMapper;
+    private final DataSize maxImageSize;
+    private final ObjectMapper objectMapper;
 
     public UserController(Translator translator, UserService userService, UserMapper userMapper, RoleMapper roleMapper,
-            SecurityObjectMapper securityObjectMapper) {
+            SecurityObjectMapper securityObjectMapper, @Value("${owms.uaa.image.max-size:5MB}") DataSize maxImageSize, ObjectMapper objectMapper) {
         this.translator = translator;
         this.userService = userService;
         this.userMapper = userMapper;
         this.roleMapper = roleMapper;
         this.securityObjectMapper = securityObjectMapper;
+        this.maxImageSize = maxImageSize;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping(API_USERS + "/index")
@@ -92,23 +118,28 @@ public class UserController extends AbstractWebController {
                         linkTo(methodOn(UserController.class).findByPKey("{pKey}")).withRel("users-findbypkey"),
                         linkTo(methodOn(UserController.class).findByUsername("{username}")).withRel("users-findbyusername"),
                         linkTo(methodOn(UserController.class).findByUsernameAndPassword(new CredentialsVO())).withRel("users-authenticate"),
-                        linkTo(methodOn(UserController.class).findAllUsers()).withRel("users-findall"),
+                        linkTo(methodOn(UserController.class).findAllUsers(null, null, null, null, null, null, null)).withRel("users-findall"),
                         linkTo(methodOn(UserController.class).findGrantsForUser("{pKey}")).withRel("users-findgrants"),
                         linkTo(methodOn(UserController.class).findRolesForUser("{pKey}")).withRel("users-findroles"),
                         linkTo(methodOn(UserController.class).create(new UserVO(), null)).withRel("users-create"),
+                        linkTo(methodOn(UserController.class).importUsers(null, null)).withRel("users-import"),
+                        linkTo(methodOn(UserController.class).exportUsers()).withRel("users-export"),
                         linkTo(methodOn(UserController.class).save("{pKey}", new UserVO())).withRel("users-save"),
                         linkTo(methodOn(UserController.class).saveImage("", "{pKey}")).withRel("users-saveimage"),
+                        linkTo(methodOn(UserController.class).uploadImage("{pKey}", null, null)).withRel("users-uploadimage"),
+                        linkTo(methodOn(UserController.class).findImage("{pKey}", null)).withRel("users-findimage"),
+                        linkTo(methodOn(UserController.class).findThumbnail("{pKey}", null, null)).withRel("users-findthumbnail"),
                         linkTo(methodOn(UserController.class).updatePassword("{pKey}", new PasswordString("newPassword"))).withRel("users-changepassword"),
                         linkTo(methodOn(UserController.class).delete("{pKey}")).withRel("users-delete")
                 )
         );
     }
 
+    @Transactional(readOnly = true)
     @GetMapping(API_USERS + "/{pKey}")
     public ResponseEntity<UserVO> findByPKey(@PathVariable("pKey") String pKey) {
 
-        var eo = userService.findByPKey(pKey);
-        var result = userMapper.convertToVO(eo);
+        var result = userService.findVOByPKey(pKey);
         addSelfLink(result);
         return ResponseEntity
                 .status(HttpStatus.OK)
@@ -116,6 +147,7 @@ public class UserController extends AbstractWebController {
                 .body(result);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping(value = API_USERS, params = "username")
     public ResponseEntity<AuthenticatedUserVO> findByUsername(@RequestParam("username") String username) {
 
@@ -134,6 +166,7 @@ public class UserController extends AbstractWebController {
                 .body(result);
     }
 
+    @Transactional(readOnly = true)
     @PostMapping(value = API_USERS + "/authenticate")
     public ResponseEntity<UserVO> findByUsernameAndPassword(@RequestBody @Valid @NotNull CredentialsVO credentials) {
 
@@ -153,23 +186,75 @@ public class UserController extends AbstractWebController {
                 .body(result);
     }
 
+    @Transactional(readOnly = true)
     @GetMapping(API_USERS)
-    public ResponseEntity<List<UserVO>> findAllUsers() {
+    public ResponseEntity<List<UserVO>> findAllUsers(
+            @RequestParam(value = "prefix", required = false) String usernamePrefix,
+            @RequestParam(value = "enabled", required = false) Boolean enabled,
+            @RequestParam(value = "locked", required = false) Boolean locked,
+            @RequestParam(value = "role", required = false) String role,
+            @RequestParam(value = "after", required = false) String after,
+            @PageableDefault(size = 100, sort = "username") Pageable pageable,
+            WebRequest request) {
 
-        var eos = userService.findAll();
-        var result = userMapper.convertToVO(new ArrayList<>(eos));
-        result.forEach(this::addSelfLink);
-        return ResponseEntity
-                .status(HttpStatus.OK)
-                .header(HttpHeaders.CONTENT_TYPE, UserVO.MEDIA_TYPE)
-                .body(result);
+        // Without any paging parameter all Users are returned, as before paging was introduced
+        var paged = after != null || request.getParameter("size") != null || request.getParameter("page") != null;
+        var slice = userService.findAllVOs(new UserFilter(usernamePrefix, enabled, locked, role, after),
+                paged ? pageable : Pageable.unpaged(pageable.getSort()));
+        var result = slice.getContent();
+        addSelfLinks(result);
+        var response = ResponseEntity.status(HttpStatus.OK).header(HttpHeaders.CONTENT_TYPE, UserVO.MEDIA_TYPE);
+        if (slice.hasNext()) {
+            response.header(HttpHeaders.LINK, nextLink(slice, after != null || isSortedByUsernameOnly(pageable)));
+        }
+        return response.body(result);
+    }
+
+    private static boolean isSortedByUsernameOnly(Pageable pageable) {
+        var orders = pageable.getSort().toList();
+        return orders.isEmpty() || (orders.size() == 1 && "username".equals(orders.get(0).getProperty()) && orders.get(0).isAscending());
+    }
+
+    /*
+     * Users sorted by username are continued after the last username (keyset), that is cheaper than skipping rows and stable when Users are
+     * added in between. Other sort orders continue with the next page number.
+     */
+    private static String nextLink(Slice<UserVO> slice, boolean keyset) {
+        var builder = ServletUriComponentsBuilder.fromCurrentRequest();
+        if (keyset) {
+            builder.replaceQueryParam("page").replaceQueryParam("sort")
+                    .replaceQueryParam("after", slice.getContent().get(slice.getNumberOfElements() - 1).getUsername());
+        } else {
+            builder.replaceQueryParam("page", slice.getNumber() + 1);
+        }
+        return Link.of(builder.replaceQueryParam("size", slice.getSize()).build().encode().toUriString(), IanaLinkRelations.NEXT).toString();
+    }
+
+    @PostMapping(value = API_USERS + "/import", consumes = {MEDIA_TYPE_NDJSON, MEDIA_TYPE_CSV})
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<UserImportResult> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) {
+
+        var charset = contentType.getCharset() == null ? StandardCharsets.UTF_8 : contentType.getCharset();
+        var reader = new BufferedReader(new InputStreamReader(body, charset));
+        var users = MediaType.valueOf(MEDIA_TYPE_CSV).includes(contentType)
+                ? UserImportReader.csv(reader)
+                : UserImportReader.ndjson(reader, objectMapper);
+        var result = userService.importUsers(users);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping(value = API_USERS + "/export", produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.valueOf(MEDIA_TYPE_NDJSON))
+                .body(NdjsonExport.of(objectMapper, (Consumer<UserVO> c) -> userService.exportAllVOs(c)));
     }
 
+    @Transactional(readOnly = true)
     @GetMapping(API_USERS + "/{pKey}/grants")
     public ResponseEntity<List<SecurityObjectVO>> findGrantsForUser(@PathVariable("pKey") String pKey) {
 
-        var user = userService.findByPKey(pKey);
-        var result = securityObjectMapper.convertToVOs(user.getGrants());
+        var result = securityObjectMapper.convertToVOs(new ArrayList<>(userService.findGrants(pKey)));
         return ResponseEntity
                 .status(HttpStatus.OK)
                 .header(HttpHeaders.CONTENT_TYPE, SecurityObjectVO.MEDIA_TYPE)
@@ -226,6 +311,84 @@ public class UserController extends AbstractWebController {
         return ResponseEntity.ok().build();
     }
 
+    @PutMapping(value = API_USERS + "/{pKey}/details/image", consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<Void> uploadImage(@PathVariable("pKey") String pKey, HttpServletRequest request, InputStream body) {
+
+        var length = request.getContentLengthLong();
+        if (length < 0) {
+            return ResponseEntity.status(HttpStatus.LENGTH_REQUIRED).build();
+        }
+        if (length > maxImageSize.toBytes()) {
+            // 413 Content Too Large
+            return ResponseEntity.status(413).build();
+        }
+        var image = userService.uploadImage(pKey, body, length);
+        return ResponseEntity.noContent().eTag(image.getTag()).build();
+    }
+
+    @GetMapping(value = API_USERS + "/{pKey}/details/image", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> findImage(@PathVariable("pKey") String pKey, WebRequest request) {
+
+        var image = userService.findImage(pKey);
+        var eTag = "\"" + image.getTag() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        var size = image.getSize();
+        var range = request.getHeader(HttpHeaders.RANGE);
+        var ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(eTag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                long start;
+                long end;
+                try {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                            .build();
+                }
+                var length = end - start + 1;
+                return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .contentLength(length)
+                        .eTag(eTag)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes %d-%d/%d".formatted(start, end, size))
+                        .body(out -> userService.writeImage(pKey, start, length, out));
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(size)
+                .eTag(eTag)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .body(out -> userService.writeImage(pKey, 0, size, out));
+    }
+
+    @GetMapping(value = API_USERS + "/{pKey}/details/image/thumbnail", produces = MediaType.IMAGE_PNG_VALUE)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ResponseEntity<byte[]> findThumbnail(@PathVariable("pKey") String pKey,
+            @RequestParam(value = "tag", required = false) String tag, WebRequest request) {
+
+        var thumbnail = userService.findThumbnail(pKey, tag)
+                .orElseThrow(() -> new NotFoundException(translator, USER_IMAGE_NOT_EXIST, pKey));
+        var eTag = "\"" + thumbnail.tag() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .eTag(eTag)
+                .body(thumbnail.data());
+    }
+
     @PostMapping(API_USERS + "/{pKey}/password")
     public ResponseEntity<UserVO> updatePassword(@PathVariable("pKey") String pKey, @RequestBody @NotNull PasswordString password) {
 
@@ -247,7 +410,32 @@ public class UserController extends AbstractWebController {
         return ResponseEntity.noContent().build();
     }
 
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    @Transactional(propagation = Propagation.NEVER)
+    public ResponseEntity<Void> onHashingCapacityExceeded(HashingCapacityExceededException ex) {
+
+        LOGGER.warn(ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .build();
+    }
+
     private void addSelfLink(UserVO result) {
-        result.add(linkTo(methodOn(UserController.class).findByPKey(result.getpKey())).withRel("user-findbypkey"));
+        addSelfLinks(List.of(result));
+    }
+
+    private void addSelfLinks(List<? extends UserVO> result) {
+        if (result.isEmpty()) {
+            return;
+        }
+        var imageTags = userService.findImageTags(result.stream().map(UserVO::getpKey).toList());
+        for (var vo : result) {
+            vo.add(linkTo(methodOn(UserController.class).findByPKey(vo.getpKey())).withRel("user-findbypkey"));
+            var tag = imageTags.get(vo.getpKey());
+            if (tag != null) {
+                vo.add(linkTo(methodOn(UserController.class).findThumbnail(vo.getpKey(), tag, null)).withRel("user-thumbnail"));
+            }
+        }
     }
 }
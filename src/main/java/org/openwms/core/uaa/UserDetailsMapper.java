@@ -20,8 +20,6 @@ import org.mapstruct.Mapping;
 import org.openwms.core.uaa.api.UserDetailsVO;
 import org.openwms.core.uaa.impl.UserDetails;
 
-import java.util.Base64;
-
 /**
  * A UserDetailsMapper.
  *
@@ -36,14 +34,6 @@ public interface UserDetailsMapper {
     @Mapping(target = "supplyOffice", ignore = true)
     @Mapping(target = "supplyIm", ignore = true)
     @Mapping(target = "supplyDepartment", ignore = true)
-    @Mapping(target = "supplyImage", ignore = true)
     @Mapping(target = "supplyGender", ignore = true)
     UserDetails mapToEO(UserDetailsVO vo);
-
-    default byte[] map(String source) {
-        if (source == null) {
-            return new byte[0];
-        }
-        return Base64.getDecoder().decode(source);
-    }
 }
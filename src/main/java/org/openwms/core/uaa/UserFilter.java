@@ -0,0 +1,50 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa;
+
+/**
+ * A UserFilter holds the optional criteria to filter {@code User}s by, a criterion that is {@literal null} is not applied.
+ *
+ * @param usernamePrefix The username must start with this prefix
+ * @param enabled The enabled flag must be equal
+ * @param locked The locked flag must be equal
+ * @param role The User must be assigned to the Role with this name
+ * @param after Only Users with a username greater than this one are returned, used to continue a listing sorted by username
+ * @author Heiko Scherrer
+ */
+public record UserFilter(String usernamePrefix, Boolean enabled, Boolean locked, String role, String after) {
+
+    /**
+     * Create a filter that does not filter at all.
+     *
+     * @return The filter
+     */
+    public static UserFilter none() {
+        return new UserFilter(null, null, null, null, null);
+    }
+
+    /**
+     * Return the {@link #usernamePrefix()} as {@code LIKE} pattern, wildcards in the prefix are escaped with {@code !}.
+     *
+     * @return The pattern or {@literal null}
+     */
+    public String usernamePattern() {
+        if (usernamePrefix == null || usernamePrefix.isEmpty()) {
+            return null;
+        }
+        return usernamePrefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openwms.core.uaa.api.EmailVO;
+import org.openwms.core.uaa.api.UserVO;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * A UserImportReader reads {@link UserVO}s line by line from a stream, without reading the whole stream into memory. Two formats are
+ * supported:
+ * <ul>
+ *     <li>NDJSON, one {@link UserVO} as JSON per line</li>
+ *     <li>CSV with a header line and the columns {@code username}, {@code fullname}, {@code email}, {@code enabled}, {@code locked} and
+ *     {@code roles}. Multiple Role names are separated by {@code |}. Only {@code username} is mandatory in the header</li>
+ * </ul>
+ * Blank lines are ignored. A malformed line is skipped, {@link #next()} throws an {@link IllegalArgumentException} that names the line and
+ * reading continues with the following line. Only a malformed CSV header aborts reading with a {@code 400-Bad Request}.
+ *
+ * @author Heiko Scherrer
+ */
+final class UserImportReader implements Iterator<UserVO> {
+
+    private static final List<String> CSV_COLUMNS = List.of("username", "fullname", "email", "enabled", "locked", "roles");
+    private final BufferedReader reader;
+    private final Function<String, UserVO> parser;
+    private long lineNo;
+    private String next;
+
+    private UserImportReader(BufferedReader reader, Function<String, UserVO> parser, long lineNo) {
+        this.reader = reader;
+        this.parser = parser;
+        this.lineNo = lineNo;
+    }
+
+    /**
+     * Read NDJSON.
+     *
+     * @param reader The source
+     * @param objectMapper Used to parse each line
+     * @return The iterator
+     */
+    static UserImportReader ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new UserImportReader(reader, line -> {
+            try {
+                return objectMapper.readValue(line, UserVO.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getOriginalMessage());
+            }
+        }, 0);
+    }
+
+    /**
+     * Read CSV, the first line must be the header.
+     *
+     * @param reader The source
+     * @return The iterator
+     */
+    static UserImportReader csv(BufferedReader reader) {
+        var header = readLine(reader);
+        if (header == null) {
+            return new UserImportReader(reader, line -> null, 1);
+        }
+        var columns = split(header.replace("\uFEFF", "")).stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toList();
+        if (!columns.contains("username") || !CSV_COLUMNS.containsAll(columns)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Line 1: the CSV header must contain 'username' and may contain %s only".formatted(CSV_COLUMNS));
+        }
+        return new UserImportReader(reader, line -> toUser(columns, split(line)), 1);
+    }
+
+    private static UserVO toUser(List<String> columns, List<String> values) {
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected %d columns but got %d".formatted(columns.size(), values.size()));
+        }
+        var row = new HashMap<String, String>(columns.size());
+        for (var i = 0; i < columns.size(); i++) {
+            var value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                row.put(columns.get(i), value);
+            }
+        }
+        var user = new UserVO(row.get("username"));
+        user.setFullname(row.get("fullname"));
+        if (row.containsKey("email")) {
+            user.setEmailAddresses(new ArrayList<>(List.of(new EmailVO(row.get("email"), true))));
+        }
+        user.setEnabled(toBoolean(row, "enabled"));
+        user.setLocked(toBoolean(row, "locked"));
+        if (row.containsKey("roles")) {
+            user.setRoleNames(Arrays.stream(row.get("roles").split("\\|")).map(String::trim).filter(r -> !r.isEmpty()).toList());
+        }
+        return user;
+    }
+
+    private static Boolean toBoolean(Map<String, String> row, String column) {
+        var value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            throw new IllegalArgumentException("Column '%s' must be true or false".formatted(column));
+        }
+        return Boolean.valueOf(value);
+    }
+
+    /*
+     * Splits one CSV line, fields may be quoted with " and quotes within quoted fields are doubled.
+     */
+    static List<String> split(String line) {
+        var result = new ArrayList<String>();
+        var field = new StringBuilder();
+        var quoted = false;
+        for (var i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                result.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        result.add(field.toString());
+        return result;
+    }
+
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            var line = readLine(reader);
+            if (line == null) {
+                return false;
+            }
+            lineNo++;
+            if (!line.isBlank()) {
+                next = line;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException If the line is malformed, the line is skipped
+     */
+    @Override
+    public UserVO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var line = next;
+        next = null;
+        try {
+            return parser.apply(line);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line %d: %s".formatted(lineNo, e.getMessage()), e);
+        }
+    }
+}
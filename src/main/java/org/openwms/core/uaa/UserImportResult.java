@@ -0,0 +1,43 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa;
+
+import java.util.List;
+
+/**
+ * A UserImportResult summarizes a bulk import of {@code User}s.
+ *
+ * @param created The number of created Users
+ * @param skipped The number of Users that already existed and have been left untouched
+ * @param failed The number of rejected Users
+ * @param failures Details of the rejected Users, limited to the first {@value #MAX_FAILURES} ones
+ * @author Heiko Scherrer
+ */
+public record UserImportResult(int created, int skipped, int failed, List<Failure> failures) {
+
+    /** The maximum number of failure details kept. */
+    public static final int MAX_FAILURES = 1000;
+
+    /**
+     * A rejected User.
+     *
+     * @param position The position of the User in the import, starting with 1
+     * @param username The username, if any
+     * @param message Why the User has been rejected
+     */
+    public record Failure(long position, String username, String message) {
+    }
+}
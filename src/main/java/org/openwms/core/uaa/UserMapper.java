@@ -23,9 +23,12 @@ import org.mapstruct.Named;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 import org.mapstruct.SubclassMapping;
 import org.openwms.core.uaa.api.AuthenticatedUserVO;
+import org.openwms.core.uaa.api.EmailVO;
 import org.openwms.core.uaa.api.UserVO;
+import org.openwms.core.uaa.impl.EmailView;
 import org.openwms.core.uaa.impl.Role;
 import org.openwms.core.uaa.impl.User;
+import org.openwms.core.uaa.impl.UserView;
 
 import java.util.Base64;
 import java.util.List;
@@ -61,6 +64,14 @@ public interface UserMapper {
     @Named("convertToVO")
     List<UserVO> convertToVO(List<User> eo);
 
+    @Mapping(source = "pKey", target = "pKey")
+    @Mapping(source = "ol", target = "ol")
+    @Mapping(target = "emailAddresses", ignore = true)
+    @Mapping(target = "roleNames", ignore = true)
+    UserVO convertViewToVO(UserView view);
+
+    EmailVO convertEmailViewToVO(EmailView view);
+
     @Mapping(source = "pKey", target = "persistentKey")
     @Mapping(source = "extern", target = "externalUser")
     @Mapping(target = "supplyLastPasswordChange", ignore = true)
@@ -22,11 +22,23 @@ import org.ameba.integration.FindOperations;
 import org.ameba.integration.SaveOperations;
 import org.openwms.core.uaa.api.UserVO;
 import org.openwms.core.uaa.api.ValidationGroups;
+import org.openwms.core.uaa.impl.Grant;
 import org.openwms.core.uaa.impl.SystemUser;
 import org.openwms.core.uaa.impl.User;
+import org.openwms.core.uaa.impl.UserImage;
+import org.openwms.core.uaa.impl.UserThumbnail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * An UserService offers functionality according to the handling with {@link User}s.
@@ -53,7 +65,58 @@ public interface UserService extends FindOperations<User, Long>, SaveOperations<
     void uploadImageFile(@NotBlank String pKey, @NotNull byte[] image);
 
     /**
-     * Create and return the {@link SystemUser} without persisting this user.
+     * Store the image of the {@link User} with {@code pKey} read from the given stream, without loading it into memory at once. An
+     * existing image is replaced.
+     *
+     * @param pKey The persistent key of the User
+     * @param image The stream to read the image from, it is consumed within the current transaction
+     * @param length The number of bytes to read from the stream
+     * @return The stored image
+     */
+    @NotNull UserImage uploadImage(@NotBlank String pKey, @NotNull InputStream image, long length);
+
+    /**
+     * Find the image of the {@link User} with {@code pKey}, without reading the image data.
+     *
+     * @param pKey The persistent key of the User
+     * @return The image
+     * @throws org.ameba.exception.NotFoundException if the User does not exist or has no image
+     */
+    @NotNull UserImage findImage(@NotBlank String pKey);
+
+    /**
+     * Write a part of the image of the {@link User} with {@code pKey} to the given stream, without loading it into memory at once.
+     *
+     * @param pKey The persistent key of the User
+     * @param offset The position of the first byte to write, starting with 0
+     * @param length The number of bytes to write
+     * @param out The stream to write to, not closed by this method
+     * @throws IOException if writing to {@code out} fails
+     * @throws org.ameba.exception.NotFoundException if the User does not exist or has no image
+     */
+    void writeImage(@NotBlank String pKey, long offset, long length, @NotNull OutputStream out) throws IOException;
+
+    /**
+     * Find the thumbnail of the image of the {@link User} with {@code pKey}. If the image has been replaced in the meantime, the thumbnail of
+     * the current image is returned.
+     *
+     * @param pKey The persistent key of the User
+     * @param tag The tag of the image the thumbnail is requested for, or {@literal null} for the current image
+     * @return The thumbnail or an empty Optional if the User does not exist, has no image or the image could not be scaled
+     */
+    Optional<UserThumbnail> findThumbnail(@NotBlank String pKey, String tag);
+
+    /**
+     * Find the tags of the images of the {@link User}s with the given {@code pKeys}, with one query.
+     *
+     * @param pKeys The persistent keys of the Users
+     * @return The image tags by the persistent key of each User, Users without image are not contained
+     */
+    @NotNull Map<String, String> findImageTags(@NotNull Collection<String> pKeys);
+
+    /**
+     * Create and return the {@link SystemUser} without persisting this user. The instance is shared between callers and must not be
+     * modified, it is rebuilt when a new {@code Grant} has been created.
      *
      * @return the SystemUser instance
      */
@@ -76,6 +139,56 @@ public interface UserService extends FindOperations<User, Long>, SaveOperations<
      */
     @NotNull Optional<User> findByUsername(@NotBlank String username);
 
+    /**
+     * Find a slice of {@link User}s matching the {@code filter}. Users are always ordered by username as last criterion so that slices are
+     * stable. Sorting is only supported by {@code username}, {@code fullname}, {@code enabled}, {@code locked} and {@code expirationDate}
+     * and is ignored if the {@code filter} continues after a username.
+     *
+     * @param filter The criteria to match
+     * @param pageable Page and sort order, an unpaged instance returns all matching Users in one slice
+     * @return The slice, no total count is calculated
+     */
+    @NotNull Slice<User> findAll(@NotNull UserFilter filter, @NotNull Pageable pageable);
+
+    /**
+     * Like {@link #findAll(UserFilter, Pageable)} but the {@link User}s are read as value objects without loading the entities. The email
+     * addresses and role names of all Users of the slice are read with one statement each.
+     *
+     * @param filter The criteria to match
+     * @param pageable Page and sort order
+     * @return The slice, no total count is calculated
+     */
+    @NotNull Slice<UserVO> findAllVOs(@NotNull UserFilter filter, @NotNull Pageable pageable);
+
+    /**
+     * Pass all existing {@link User}s one after another to the {@code consumer}, ordered by their primary key. The Users are read with a
+     * bounded fetch size and are detached in chunks, hence they must not be kept or modified by the consumer.
+     *
+     * @param consumer Receives each User within the reading transaction
+     * @return The number of exported Users
+     */
+    long exportAll(@NotNull Consumer<User> consumer);
+
+    /**
+     * Pass all existing {@link User}s one after another as value objects to the {@code consumer}, ordered by their username. The Users are
+     * read in slices without loading the entities, the email addresses and role names of each slice are read with one statement each.
+     *
+     * @param consumer Receives each User
+     * @return The number of exported Users
+     */
+    long exportAllVOs(@NotNull Consumer<UserVO> consumer);
+
+    /**
+     * Create all {@link User}s the iterator provides, in chunks that are committed separately. Users that already exist are skipped, invalid
+     * ones are rejected and reported without aborting the import. Assigned Roles that do not exist are ignored, like in
+     * {@link #create(User, List)}.
+     *
+     * @param users The Users to create, read lazily. An {@link IllegalArgumentException} thrown by {@link Iterator#next()} rejects the
+     * element that could not be read without aborting the import
+     * @return The result of the import
+     */
+    @NotNull UserImportResult importUsers(@NotNull Iterator<UserVO> users);
+
     /**
      * Find and return an {@code User} instance.
      *
@@ -84,6 +197,23 @@ public interface UserService extends FindOperations<User, Long>, SaveOperations<
      */
     @NotNull User findByPKey(@NotBlank String pKey);
 
+    /**
+     * Find and return all {@link Grant}s assigned to an {@code User} through its {@code Role}s. The {@code User} entity is not loaded.
+     *
+     * @param pKey The persistent identifier of the User
+     * @return All Grants assigned to the User
+     */
+    @NotNull List<Grant> findGrants(@NotBlank String pKey);
+
+    /**
+     * Find an {@code User} and return it as value object, read without loading the entity.
+     *
+     * @param pKey The persistent identifier of the User to search for
+     * @return The value object
+     * @throws org.ameba.exception.NotFoundException If the User does not exist
+     */
+    @NotNull UserVO findVOByPKey(@NotBlank String pKey);
+
     /**
      * Delete an {@link User}.
      *
@@ -53,7 +53,7 @@ public class RoleVO extends SecurityObjectVO<RoleVO> implements Serializable {
         this.setName(builder.name);
         this.setDescription(builder.description);
         this.immutable = builder.immutable;
-        this.users = builder.users;
+        this.users = builder.users == null ? new HashSet<>() : builder.users;
         this.setpKey(builder.pKey);
         this.grants = builder.grants;
         super.setOl(builder.ol);
@@ -22,6 +22,8 @@ package org.openwms.core.uaa.api;
  */
 public final class UAAConstants {
 
+    /** API root to hit the change feed. */
+    public static final String API_CHANGES = "/changes";
     /** API root to hit Grants (plural). */
     public static final String API_GRANTS = "/grants";
     /** API root to hit Roles (plural). */
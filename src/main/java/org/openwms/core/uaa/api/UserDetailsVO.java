@@ -34,7 +34,7 @@ import java.util.StringJoiner;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class UserDetailsVO implements Serializable {
 
-    /** A base64 encoded image file. */
+    /** A base64 encoded image file. Not evaluated anymore, the image of an User is read and written separately. */
     @JsonProperty("image")
     private String image;
     /** Some descriptive text about the User. */
@@ -66,6 +66,7 @@ public class UserDetailsVO implements Serializable {
     }
 
     /*~-------------------- accessors --------------------*/
+    @Deprecated
     public String getImage() {
         return image;
     }
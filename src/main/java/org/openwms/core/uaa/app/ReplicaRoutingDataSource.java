@@ -0,0 +1,241 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.app;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A ReplicaRoutingDataSource hands out connections of the read replica to read-only transactions and connections of the primary to all
+ * other work. It must be wrapped into a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, because the transaction
+ * managers obtain the connection before the transaction is marked read-only.
+ * <p>
+ * When the replica does not hand out a connection, the primary is used and the replica is not asked again for {@code retryAfter}. A failure
+ * of the replica after the connection has been obtained is not recovered. After a transaction of a session has written to the primary and
+ * has been committed, the read-only transactions of the same session go to the primary for {@code lagGuard}, so that the session reads its
+ * own writes even when the replica lags behind. A write is any update or batch and any execution without a result set on the statements of
+ * the transaction, read-write transactions that only read do not guard the session. Work without a session key is not guarded.
+ *
+ * @author Heiko Scherrer
+ */
+class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    static final String METRIC_NAME = "owms.uaa.replica.connections";
+    /** Sessions are only pruned beyond this number of guarded sessions. */
+    private static final int PRUNE_THRESHOLD = 10_000;
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long lagGuardNanos;
+    private final long retryAfterNanos;
+    private final Supplier<String> sessionKey;
+    /** Time of the last committed write, by session key. */
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private volatile long replicaDownUntil;
+    private volatile boolean replicaDown;
+    private final Counter replicaReads;
+    private final Counter guardedReads;
+    private final Counter fallbackReads;
+    private final Counter writes;
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration lagGuard, Duration retryAfter, Supplier<String> sessionKey,
+            MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagGuardNanos = lagGuard.toNanos();
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.sessionKey = sessionKey;
+        this.replicaReads = counter(registry, "replica", "read-only");
+        this.guardedReads = counter(registry, "primary", "lag-guard");
+        this.fallbackReads = counter(registry, "primary", "fallback");
+        this.writes = counter(registry, "primary", "read-write");
+    }
+
+    private static Counter counter(MeterRegistry registry, String target, String reason) {
+        return Counter.builder(METRIC_NAME)
+                .description("Number of connections handed out by the replica routing, by target and the reason of the routing")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return TransactionSynchronizationManager.isActualTransactionActive() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? readOnlyConnection()
+                : readWriteConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The replica is configured with its own credentials, so connections with explicit credentials are always obtained from the primary and
+     * are neither routed nor guarded.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        writes.increment();
+        return primary.getConnection(username, password);
+    }
+
+    private Connection readOnlyConnection() throws SQLException {
+        var key = sessionKey.get();
+        if (key != null && isGuarded(key)) {
+            guardedReads.increment();
+            return primary.getConnection();
+        }
+        if (replicaDown && System.nanoTime() - replicaDownUntil < 0) {
+            fallbackReads.increment();
+            return primary.getConnection();
+        }
+        try {
+            var connection = replica.getConnection();
+            if (replicaDown) {
+                replicaDown = false;
+                LOGGER.info("Read replica is available again");
+            }
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            replicaDownUntil = System.nanoTime() + retryAfterNanos;
+            replicaDown = true;
+            LOGGER.warn("Read replica is not available, reading from the primary for [{}]ms: [{}]", retryAfterNanos / 1_000_000,
+                    e.getMessage());
+            fallbackReads.increment();
+            return primary.getConnection();
+        }
+    }
+
+    private Connection readWriteConnection() throws SQLException {
+        var connection = primary.getConnection();
+        writes.increment();
+        if (lagGuardNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return connection;
+        }
+        var tracker = (WriteTracker) TransactionSynchronizationManager.getResource(this);
+        if (tracker == null) {
+            var key = sessionKey.get();
+            if (key == null) {
+                return connection;
+            }
+            var newTracker = new WriteTracker();
+            TransactionSynchronizationManager.bindResource(this, newTracker);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (newTracker.written) {
+                        recordWrite(key);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+                }
+            });
+            tracker = newTracker;
+        }
+        return tracked(connection, tracker);
+    }
+
+    /*
+     * Statements created by the returned Connection mark the tracker as written as soon as they modify data.
+     */
+    private static Connection tracked(Connection connection, WriteTracker tracker) {
+        return (Connection) Proxy.newProxyInstance(ReplicaRoutingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    var result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return tracked(statement, method.getReturnType(), tracker);
+                    }
+                    return result;
+                });
+    }
+
+    private static Object tracked(Statement statement, Class<?> type, WriteTracker tracker) {
+        return Proxy.newProxyInstance(ReplicaRoutingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    var result = invoke(statement, method, args);
+                    if (isWrite(method.getName(), result)) {
+                        tracker.written = true;
+                    }
+                    return result;
+                });
+    }
+
+    private static boolean isWrite(String methodName, Object result) {
+        return switch (methodName) {
+            case "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch" -> true;
+            case "execute" -> Boolean.FALSE.equals(result);
+            default -> false;
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private boolean isGuarded(String key) {
+        var lastWrite = lastWrites.get(key);
+        return lastWrite != null && System.nanoTime() - lastWrite < lagGuardNanos;
+    }
+
+    void recordWrite(String key) {
+        var now = System.nanoTime();
+        lastWrites.put(key, now);
+        if (lastWrites.size() > PRUNE_THRESHOLD) {
+            lastWrites.values().removeIf(t -> now - t >= lagGuardNanos);
+        }
+    }
+
+    /**
+     * Bound to a read-write transaction with a session key, to remember whether the transaction has written.
+     */
+    private static final class WriteTracker {
+        private volatile boolean written;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
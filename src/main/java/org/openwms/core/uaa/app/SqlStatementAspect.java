@@ -0,0 +1,58 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.app;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * A SqlStatementAspect records the number of SQL statements of each method call of a {@code TxService}, tagged with the class and method
+ * name. It is ordered before the transaction interceptor, so the statements flushed on commit are included. Statements of nested service
+ * calls are counted for the outer method as well.
+ *
+ * @author Heiko Scherrer
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+class SqlStatementAspect {
+
+    private final MeterRegistry registry;
+
+    SqlStatementAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@within(org.ameba.annotation.TxService)")
+    public Object count(ProceedingJoinPoint pjp) throws Throwable {
+        var start = SqlStatementCounter.current();
+        try {
+            return pjp.proceed();
+        } finally {
+            DistributionSummary.builder(SqlStatementCounter.METRIC_NAME)
+                    .description("Number of SQL statements issued per request and per service method")
+                    .tag("scope", "service")
+                    .tag("class", pjp.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", pjp.getSignature().getName())
+                    .register(registry)
+                    .record(SqlStatementCounter.current() - start);
+        }
+    }
+}
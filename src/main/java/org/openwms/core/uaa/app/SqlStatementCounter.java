@@ -0,0 +1,46 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.app;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * A SqlStatementCounter is a Hibernate {@link StatementInspector} that counts the SQL statements prepared on each thread. The count only
+ * ever increases, callers take the difference before and after a unit of work. Statements issued with plain JDBC are not counted.
+ *
+ * @author Heiko Scherrer
+ */
+public final class SqlStatementCounter implements StatementInspector {
+
+    /** Name of the distribution summary of SQL statements per request and per service method. */
+    public static final String METRIC_NAME = "owms.uaa.sql.statements";
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Get the number of SQL statements prepared on the current thread so far.
+     *
+     * @return The number of statements
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -24,9 +24,11 @@ import org.ameba.http.PermitAllCorsConfigurationSource;
 import org.ameba.i18n.AbstractSpringTranslator;
 import org.ameba.i18n.Translator;
 import org.ameba.system.NestedReloadableResourceBundleMessageSource;
+import org.hibernate.cfg.AvailableSettings;
 import org.openwms.core.uaa.impl.UserUpdater;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -75,6 +77,15 @@ public class UAAModuleConfiguration implements WebMvcConfigurer {
         return registry -> registry.config().commonTags("application", applicationName);
     }
 
+    /**
+     * Lazy collections ({@code User.roles}, {@code User.emailAddresses}, {@code Role.users}, {@code Role.grants}) of all entities in the
+     * persistence context are initialized together in batches instead of one query per owner when mappers walk a list of entities. A
+     * {@code hibernate.default_batch_fetch_size} that is configured explicitly takes precedence.
+     */
+    @Bean HibernatePropertiesCustomizer batchFetchSizeCustomizer(@Value("${owms.uaa.jpa.batch-fetch-size:50}") int batchFetchSize) {
+        return props -> props.putIfAbsent(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, batchFetchSize);
+    }
+
     @Bean MethodValidationPostProcessor methodValidationPostProcessor(Validator validator) {
         var mvpp = new MethodValidationPostProcessor();
         mvpp.setValidator(validator);
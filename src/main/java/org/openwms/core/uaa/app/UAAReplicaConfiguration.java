@@ -0,0 +1,100 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.app;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.ameba.Constants.HEADER_VALUE_X_IDENTITY;
+
+/**
+ * A UAAReplicaConfiguration routes read-only transactions to a read replica. The primary is configured with the {@code spring.datasource}
+ * properties, the replica with the {@code owms.uaa.replica} properties. Like Spring Boot does for its own pool, the {@code HikariDataSource}
+ * of the primary is bound to {@code spring.datasource.hikari} and the one of the replica to {@code owms.uaa.replica.hikari}.
+ *
+ * @author Heiko Scherrer
+ */
+@Configuration
+@ConditionalOnProperty(value = "owms.uaa.replica.enabled", havingValue = "true")
+class UAAReplicaConfiguration {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    HikariDataSource uaaPrimaryDataSource(DataSourceProperties properties) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (StringUtils.hasText(properties.getName())) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "owms.uaa.replica.hikari")
+    HikariDataSource uaaReplicaDataSource(
+            @Value("${owms.uaa.replica.url}") String url,
+            @Value("${owms.uaa.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${owms.uaa.replica.password:${spring.datasource.password:}}") String password) {
+        var dataSource = DataSourceBuilder.create().type(HikariDataSource.class).url(url).username(username).password(password).build();
+        dataSource.setPoolName("uaa-replica");
+        return dataSource;
+    }
+
+    @Bean ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("uaaPrimaryDataSource") DataSource primary,
+            @Qualifier("uaaReplicaDataSource") DataSource replica,
+            @Value("${owms.uaa.replica.lag-guard:5s}") Duration lagGuard,
+            @Value("${owms.uaa.replica.retry-after:30s}") Duration retryAfter,
+            MeterRegistry registry) {
+        return new ReplicaRoutingDataSource(primary, replica, lagGuard, retryAfter, UAAReplicaConfiguration::sessionKey, registry);
+    }
+
+    @Primary
+    @Bean DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    /*
+     * Writes are attributed to the HTTP session if one exists, otherwise to the identity of the caller.
+     */
+    static String sessionKey() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        var request = attributes.getRequest();
+        var session = request.getSession(false);
+        if (session != null) {
+            return session.getId();
+        }
+        var identity = request.getHeader(HEADER_VALUE_X_IDENTITY);
+        return identity != null ? identity : request.getRemoteUser();
+    }
+}
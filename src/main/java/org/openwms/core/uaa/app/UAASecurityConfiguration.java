@@ -32,6 +32,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.filter.CorsFilter;
 
 import java.util.HashMap;
+import java.util.regex.Pattern;
 
 /**
  * A UAASecurityConfiguration.
@@ -56,13 +57,45 @@ class UAASecurityConfiguration {
         return http.build();
     }
 
+    /**
+     * The {@link DelegatingPasswordEncoder} reports every stored hash as outdated that is not a {@code bcrypt} hash with the configured
+     * {@code strength}, so it can be re-encoded on the next successful login.
+     */
     @Bean
     PasswordEncoder nopPasswordEncoder(@Value("${owms.security.encoder.bcrypt.strength:15}") int strength) {
         var encoders = new HashMap<String, PasswordEncoder>();
-        encoders.put("bcrypt", new BCryptPasswordEncoder(strength));
+        encoders.put("bcrypt", new StrengthAwareBCryptPasswordEncoder(strength));
         encoders.put("noop", NoOpPasswordEncoder.getInstance());
         encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
         encoders.put("scrypt", SCryptPasswordEncoder.defaultsForSpringSecurity_v5_8());
         return new DelegatingPasswordEncoder("bcrypt", encoders);
     }
+
+    /**
+     * A StrengthAwareBCryptPasswordEncoder requests an upgrade of the encoding whenever the strength of the stored hash differs from the
+     * configured one. The default implementation only upgrades weaker hashes, but lowering the strength must be possible as well to meet
+     * the latency budget.
+     */
+    static class StrengthAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+        private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2([ayb])?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+        private final int strength;
+
+        StrengthAwareBCryptPasswordEncoder(int strength) {
+            super(strength);
+            this.strength = strength;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null || encodedPassword.isEmpty()) {
+                return false;
+            }
+            var matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+            if (!matcher.matches()) {
+                return false;
+            }
+            return Integer.parseInt(matcher.group(2)) != strength;
+        }
+    }
 }
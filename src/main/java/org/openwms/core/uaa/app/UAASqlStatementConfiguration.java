@@ -0,0 +1,56 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.app;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * A UAASqlStatementConfiguration counts the SQL statements issued per request and per service method and publishes them as the
+ * distribution summary {@value SqlStatementCounter#METRIC_NAME}. A {@link org.hibernate.resource.jdbc.spi.StatementInspector} that is
+ * already configured is kept, the counts stay at zero then.
+ *
+ * @author Heiko Scherrer
+ */
+@Configuration
+@ConditionalOnProperty(value = "owms.uaa.sql-statements.enabled", havingValue = "true", matchIfMissing = true)
+class UAASqlStatementConfiguration implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+    UAASqlStatementConfiguration(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatementInterceptor(this.registry));
+    }
+
+    @Bean HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return props -> props.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean SqlStatementAspect sqlStatementAspect() {
+        return new SqlStatementAspect(registry);
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * An AuthoritySnapshots component holds the effective authorities of each {@link User}, i.e. the deduplicated names of all
+ * {@link SecurityObject}s the {@link User} gets through the assigned {@link Role}s. A snapshot is calculated once and then kept until a
+ * {@link UserEvent}, {@link RoleEvent} or {@link GrantEvent} invalidates it. Only the snapshots depending on the changed object are dropped.
+ * <p>
+ * Snapshots are immutable and equal authority sets are shared between {@link User}s. Each snapshot carries the version of the role and grant
+ * model it has been calculated with. The version is bumped and the snapshots are dropped after the change has been committed, so a snapshot
+ * calculated before or while the change is committed is not kept. Snapshots calculated within a read-write transaction are not kept either,
+ * because that transaction may still be rolled back. Keeping snapshots is enabled by default, when disabled each call calculates the
+ * authorities from the {@link User}.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class AuthoritySnapshots {
+
+    /** Upper bound of distinct authority sets to share, the pool is reset when exceeded. */
+    private static final int MAX_INTERNED = 1024;
+    private final boolean enabled;
+    private final AtomicLong version = new AtomicLong();
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Set<String>, Set<String>> interned = new ConcurrentHashMap<>();
+
+    /**
+     * The effective authorities of an {@link User}.
+     *
+     * @param version The version of the role and grant model the snapshot has been calculated with
+     * @param userKey The persistent key of the {@link User}
+     * @param authorities The names of all {@link SecurityObject}s the {@link User} holds
+     * @param securityObjectKeys The persistent keys of all {@link Role}s and {@link SecurityObject}s the authorities are derived from
+     */
+    record Snapshot(long version, String userKey, Set<String> authorities, Set<String> securityObjectKeys) {
+    }
+
+    AuthoritySnapshots(@Value("${owms.security.authority-snapshots.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Find the kept snapshot of an {@link User}.
+     *
+     * @param username The username of the User
+     * @return The snapshot or an empty Optional if none is kept
+     */
+    Optional<Snapshot> find(String username) {
+        return enabled ? Optional.ofNullable(snapshots.get(username)) : Optional.empty();
+    }
+
+    /**
+     * Return the snapshot of the given {@link User}, calculate and keep it if none exists yet.
+     *
+     * @param user The User
+     * @return The snapshot, never {@literal null}
+     */
+    Snapshot snapshotOf(User user) {
+        return snapshotOf(user.getUsername(), current -> {
+            var authorities = new HashSet<String>();
+            var keys = new HashSet<String>();
+            for (var role : user.getRoles()) {
+                addKey(keys, role);
+                for (var grant : role.getGrants()) {
+                    authorities.add(grant.getName());
+                    addKey(keys, grant);
+                }
+            }
+            return new Snapshot(current, user.getPersistentKey(), intern(authorities), Set.copyOf(keys));
+        });
+    }
+
+    /**
+     * Return the snapshot of the given {@link UserAuthentication}, take and keep it if none exists yet.
+     *
+     * @param authentication The already flattened authorities of an User
+     * @return The snapshot, never {@literal null}
+     */
+    Snapshot snapshotOf(UserAuthentication authentication) {
+        return snapshotOf(authentication.username(), current -> new Snapshot(current, authentication.pKey(),
+                intern(authentication.authorities()), authentication.securityObjectKeys()));
+    }
+
+    private Snapshot snapshotOf(String username, LongFunction<Snapshot> calculation) {
+        if (enabled) {
+            var existing = snapshots.get(username);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        var current = version.get();
+        var snapshot = calculation.apply(current);
+        if (enabled && !withinReadWriteTransaction()) {
+            snapshots.put(username, snapshot);
+            if (version.get() != current) {
+                snapshots.remove(username, snapshot);
+            }
+        }
+        return snapshot;
+    }
+
+    private static boolean withinReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /**
+     * Calculate the effective authorities of the given {@link User} without keeping a snapshot, e.g. for an {@link User} that is not
+     * persisted yet.
+     *
+     * @param user The User
+     * @return The deduplicated names of all {@link SecurityObject}s the User holds, never {@literal null}
+     */
+    static Set<String> authoritiesOf(User user) {
+        var authorities = new HashSet<String>();
+        for (var role : user.getRoles()) {
+            for (var grant : role.getGrants()) {
+                authorities.add(grant.getName());
+            }
+        }
+        return Set.copyOf(authorities);
+    }
+
+    private static void addKey(Set<String> keys, SecurityObject securityObject) {
+        if (securityObject.getPersistentKey() != null) {
+            keys.add(securityObject.getPersistentKey());
+        }
+    }
+
+    private Set<String> intern(Set<String> authorities) {
+        var copy = Set.copyOf(authorities);
+        if (interned.size() >= MAX_INTERNED) {
+            interned.clear();
+        }
+        var existing = interned.putIfAbsent(copy, copy);
+        return existing == null ? copy : existing;
+    }
+
+    /**
+     * Drop the snapshot of the changed {@code User}, also when it has been kept under a former username.
+     *
+     * @param event The event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        version.incrementAndGet();
+        var user = event.getSource();
+        snapshots.remove(user.getUsername());
+        if (user.getPersistentKey() != null) {
+            snapshots.values().removeIf(s -> user.getPersistentKey().equals(s.userKey()));
+        }
+    }
+
+    /**
+     * Drop all snapshots derived from the changed {@code Role} and the ones of {@code User}s whose membership has been changed.
+     *
+     * @param event The event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleEvent(RoleEvent event) {
+        version.incrementAndGet();
+        removeAllDerivedFrom(event.getSource());
+        event.getAffectedUsernames().forEach(snapshots::remove);
+    }
+
+    /**
+     * Drop all snapshots derived from the changed {@code Grant}.
+     *
+     * @param event The event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGrantEvent(GrantEvent event) {
+        version.incrementAndGet();
+        removeAllDerivedFrom(event.getSource());
+    }
+
+    private void removeAllDerivedFrom(SecurityObject securityObject) {
+        if (securityObject.getPersistentKey() != null) {
+            snapshots.values().removeIf(s -> s.securityObjectKeys().contains(securityObject.getPersistentKey()));
+        }
+    }
+}
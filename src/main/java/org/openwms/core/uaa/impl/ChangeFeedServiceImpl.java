@@ -0,0 +1,97 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.ameba.annotation.Measured;
+import org.ameba.annotation.TxService;
+import org.openwms.core.uaa.ChangeFeed;
+import org.openwms.core.uaa.ChangeFeedService;
+import org.openwms.core.uaa.app.DefaultTimeProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * A ChangeFeedServiceImpl writes the change log from the {@link OutboxMessage}s relayed by the {@link OutboxRelay} and reads the change
+ * feed from it.
+ * <p>
+ * The log is written by the relay and not on the path of the transaction that changed the entity, the change itself is only stored once in
+ * the transactional outbox. It is handled before all other {@link OutboxHandler}s, so that a failure to write the log does not pass the
+ * messages to them twice. The watermark is the primary key of the log entries. Because the relays of several instances may commit in
+ * another order than they have fetched their keys, only entries that have been logged before the settle time
+ * ({@code owms.uaa.changes.settle-time}) are read. The time of logging is taken from the clock of the instance that relayed the entry and
+ * compared with the clock of the instance that reads the feed, so the clocks of all instances must be synchronized (e.g. by NTP) to within a
+ * fraction of the settle time.
+ *
+ * @author Heiko Scherrer
+ */
+@TxService
+@Order(Ordered.HIGHEST_PRECEDENCE)
+class ChangeFeedServiceImpl implements ChangeFeedService, OutboxHandler {
+
+    private final ChangeLogRepository repository;
+    private final Duration settleTime;
+
+    ChangeFeedServiceImpl(ChangeLogRepository repository, @Value("${owms.uaa.changes.settle-time:1s}") Duration settleTime) {
+        this.repository = repository;
+        this.settleTime = settleTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Multiple changes of the same entity within the chunk are collapsed into the latest one.
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull ChangeFeed findChanges(@Min(0) long since, @Min(1) int size) {
+        var settled = new DefaultTimeProvider().nowAsZonedDateTime().minus(settleTime);
+        var entries = repository.findChanges(since, settled, PageRequest.ofSize(size));
+        if (entries.isEmpty()) {
+            return new ChangeFeed(since, false, List.of());
+        }
+        var latest = new LinkedHashMap<String, ChangeLogEntry>();
+        for (var entry : entries) {
+            var key = entry.getEntity() + ":" + entry.getpKey();
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+        var changes = latest.values().stream()
+                .map(e -> new ChangeFeed.Change(e.getEntity(), e.getpKey(), e.getType(), e.getOccurredAt()))
+                .toList();
+        return new ChangeFeed(entries.getContent().get(entries.getNumberOfElements() - 1).getPk(), entries.hasNext(), changes);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Log the changes within the transaction of the {@link OutboxRelay}, so that a message is removed from the outbox together with
+     * writing its log entry.
+     */
+    @Override
+    public void handle(List<OutboxMessage> messages) {
+        repository.saveAll(messages.stream().map(ChangeLogEntry::new).toList());
+    }
+}
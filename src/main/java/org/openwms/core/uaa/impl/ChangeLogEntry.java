@@ -0,0 +1,103 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.openwms.core.uaa.ChangeFeed;
+import org.openwms.core.uaa.app.DefaultTimeProvider;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * A ChangeLogEntry records that an entity has been changed. The primary key is taken from a sequence without pooling, so that it increases
+ * with every change and can be used as watermark by the readers of the change log.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "COR_UAA_CHANGE_LOG")
+class ChangeLogEntry implements Serializable {
+
+    @Id
+    @Column(name = "C_PK")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "changeLogGenerator")
+    @SequenceGenerator(name = "changeLogGenerator", sequenceName = "uaa_change_seq", allocationSize = 1)
+    private Long pk;
+    /** The kind of the changed entity. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "C_ENTITY", nullable = false, length = 16)
+    private ChangeFeed.EntityType entity;
+    /** The persistent key of the changed entity. */
+    @Column(name = "C_PKEY", nullable = false)
+    private String pKey;
+    /** The type of change. */
+    @Column(name = "C_TYPE", nullable = false, length = 32)
+    private String type;
+    /** When the change happened. */
+    @Column(name = "C_OCCURRED_AT", nullable = false)
+    private ZonedDateTime occurredAt;
+    /** When the change has been written to the log. */
+    @Column(name = "C_LOGGED_AT", nullable = false)
+    private ZonedDateTime loggedAt;
+
+    /**
+     * Dear JPA...
+     */
+    protected ChangeLogEntry() {
+        super();
+    }
+
+    ChangeLogEntry(OutboxMessage message) {
+        this.entity = message.getEntity();
+        this.pKey = message.getpKey();
+        this.type = message.getType();
+        this.occurredAt = message.getOccurredAt();
+        this.loggedAt = new DefaultTimeProvider().nowAsZonedDateTime();
+    }
+
+    Long getPk() {
+        return pk;
+    }
+
+    ChangeFeed.EntityType getEntity() {
+        return entity;
+    }
+
+    String getpKey() {
+        return pKey;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    ZonedDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    ZonedDateTime getLoggedAt() {
+        return loggedAt;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A ChangeLogRepository offers functionality to read and write {@link ChangeLogEntry} entity classes.
+ *
+ * @author Heiko Scherrer
+ */
+interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query("select c from ChangeLogEntry c where c.pk > :since and c.loggedAt < :settled order by c.pk")
+    Slice<ChangeLogEntry> findChanges(@Param("since") long since, @Param("settled") ZonedDateTime settled, Pageable pageable);
+
+    /**
+     * Delete all entries that have been logged before {@code expired}.
+     *
+     * @param expired The time of the oldest entry to keep
+     * @return The number of deleted entries
+     */
+    @Modifying
+    @Query("delete from ChangeLogEntry c where c.loggedAt < :expired")
+    int deleteExpired(@Param("expired") ZonedDateTime expired);
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.openwms.core.uaa.app.DefaultTimeProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ChangeLogRetention deletes the {@link ChangeLogEntry}s that have been logged longer than {@code owms.uaa.changes.retention} ago, at
+ * startup and every {@code owms.uaa.changes.retention-interval} afterward. A reader whose watermark is older than the retention misses the
+ * deleted changes and has to read all entities again.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class ChangeLogRetention implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeLogRetention.class);
+    private final ChangeLogRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final Duration interval;
+    private final ScheduledExecutorService executor;
+
+    ChangeLogRetention(ChangeLogRepository repository, PlatformTransactionManager transactionManager,
+            @Value("${owms.uaa.changes.retention:7d}") Duration retention,
+            @Value("${owms.uaa.changes.retention-interval:1h}") Duration interval) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.interval = interval;
+        var threadFactory = new CustomizableThreadFactory("uaa-changes-");
+        threadFactory.setDaemon(true);
+        var scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        scheduler.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        this.executor = scheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        executor.scheduleWithFixedDelay(this::purge, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Delete the expired entries of the change log.
+     *
+     * @return The number of deleted entries
+     */
+    int purge() {
+        try {
+            var expired = new DefaultTimeProvider().nowAsZonedDateTime().minus(retention);
+            var deleted = transactionTemplate.execute(status -> repository.deleteExpired(expired));
+            if (deleted != null && deleted > 0) {
+                LOGGER.debug("Deleted [{}] change log entries logged before [{}]", deleted, expired);
+            }
+            return deleted == null ? 0 : deleted;
+        } catch (RuntimeException e) {
+            LOGGER.warn("Deleting expired change log entries failed, trying again later: [{}]", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Stop deleting expired entries.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
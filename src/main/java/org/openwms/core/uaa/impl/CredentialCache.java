@@ -0,0 +1,179 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A CredentialCache remembers recently verified credentials, so that a repeated authentication of the same {@link User} with the same
+ * password does not need to run the expensive {@code PasswordEncoder#matches} again. The cache is opt-in, bounded in size and entries
+ * expire after a configurable time-to-live.
+ * <p>
+ * The raw password is never kept. Entries are keyed by the username and hold a keyed HMAC of the raw password together with the stored
+ * password hash the credentials were verified against. An entry is only a hit as long as the stored hash has not changed. Besides that all
+ * entries of an {@link User} are dropped as soon as the password is changed or the account is locked, disabled or deleted.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class CredentialCache implements ApplicationListener<UserEvent> {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Set<UserEvent.EventType> INVALIDATING_EVENTS = EnumSet.of(
+            UserEvent.EventType.PASSWORD_CHANGED,
+            UserEvent.EventType.LOCKED,
+            UserEvent.EventType.DISABLED,
+            UserEvent.EventType.DELETED
+    );
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final SecretKeySpec key;
+    private final Map<String, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter saved;
+    private final Timer verification;
+
+    CredentialCache(
+            @Value("${owms.security.credential-cache.enabled:false}") boolean enabled,
+            @Value("${owms.security.credential-cache.max-size:1000}") int maxSize,
+            @Value("${owms.security.credential-cache.ttl:5m}") Duration ttl,
+            MeterRegistry registry
+    ) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        var secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CredentialCache.this.maxSize;
+            }
+        };
+        this.hits = Counter.builder("owms.uaa.credential.cache").tag("result", "hit")
+                .description("Authentications answered from the verified credential cache").register(registry);
+        this.misses = Counter.builder("owms.uaa.credential.cache").tag("result", "miss")
+                .description("Authentications that required a password verification").register(registry);
+        this.saved = Counter.builder("owms.uaa.credential.cache.saved").baseUnit("seconds")
+                .description("Estimated password verification time saved by the verified credential cache").register(registry);
+        this.verification = Timer.builder("owms.uaa.credential.verification")
+                .description("Time spent in password verification").register(registry);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Drop the cached credentials of the affected {@link User} on password change, lock, disable and delete.
+     */
+    @Override
+    public void onApplicationEvent(UserEvent event) {
+        if (enabled && INVALIDATING_EVENTS.contains(event.getType())) {
+            evict(event.getSource().getUsername());
+        }
+    }
+
+    /**
+     * Check the raw password of an {@link User} against the stored password hash. If the same credentials have been verified recently
+     * against the same stored hash, the result is taken from the cache, otherwise the {@code verifier} is called and a positive result is
+     * remembered.
+     *
+     * @param username The username of the User
+     * @param rawPassword The raw password to check
+     * @param storedHash The currently persisted password hash of the User
+     * @param verifier Performs the actual (expensive) password verification
+     * @return {@literal true} if the credentials are valid, otherwise {@literal false}
+     */
+    boolean verify(String username, String rawPassword, String storedHash, BooleanSupplier verifier) {
+        if (!enabled || storedHash == null) {
+            return verifier.getAsBoolean();
+        }
+        var mac = hmac(rawPassword);
+        if (isVerified(username, mac, storedHash)) {
+            hits.increment();
+            saved.increment(verification.mean(TimeUnit.SECONDS));
+            return true;
+        }
+        misses.increment();
+        var start = System.nanoTime();
+        var matches = verifier.getAsBoolean();
+        verification.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (matches) {
+            synchronized (entries) {
+                entries.put(username, new Entry(mac, storedHash, System.nanoTime() + ttlNanos));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Remove all cached credentials of an {@link User}.
+     *
+     * @param username The username of the User
+     */
+    void evict(String username) {
+        synchronized (entries) {
+            entries.remove(username);
+        }
+    }
+
+    private boolean isVerified(String username, byte[] mac, String storedHash) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(username);
+            if (entry != null && entry.expiresAt - System.nanoTime() <= 0) {
+                entries.remove(username);
+                return false;
+            }
+        }
+        return entry != null
+                && entry.storedHash.equals(storedHash)
+                && MessageDigest.isEqual(entry.mac, mac);
+    }
+
+    private byte[] hmac(String rawPassword) {
+        try {
+            var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot calculate the HMAC of the credentials", e);
+        }
+    }
+
+    private record Entry(byte[] mac, String storedHash, long expiresAt) { }
+}
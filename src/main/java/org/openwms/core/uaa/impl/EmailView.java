@@ -0,0 +1,28 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+/**
+ * An EmailView is a read-only view on an {@link Email} of an {@link User}.
+ *
+ * @param userKey The persistent key of the User the email address belongs to
+ * @param emailAddress The email address
+ * @param primary Whether it is the primary email address
+ * @param fullname The full name used with the email address
+ * @author Heiko Scherrer
+ */
+public record EmailView(String userKey, String emailAddress, boolean primary, String fullname) {
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * An EntityStreamer passes the entities of a {@link Stream} query one by one to a consumer and clears the persistence context after each
+ * {@value #FETCH_SIZE} entities. Together with a bounded JDBC fetch size on the query, the memory used by an export stays flat however many
+ * rows are read. Must be called within a transaction.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class EntityStreamer {
+
+    /** The JDBC fetch size of streaming queries and the number of entities kept in the persistence context. */
+    static final String FETCH_SIZE = "500";
+    private static final int CLEAR_INTERVAL = Integer.parseInt(FETCH_SIZE);
+    private final EntityManager em;
+
+    EntityStreamer(EntityManager em) {
+        this.em = em;
+    }
+
+    /**
+     * Pass each entity to the {@code consumer} and close the stream afterward. Entities are detached once they have been consumed.
+     *
+     * @param stream The stream to consume
+     * @param consumer Receives each entity while it is still attached
+     * @param <T> The entity type
+     * @return The number of consumed entities
+     */
+    <T> long forEach(Stream<T> stream, Consumer<? super T> consumer) {
+        var count = 0L;
+        try (stream) {
+            var iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++count % CLEAR_INTERVAL == 0) {
+                    em.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -15,9 +15,16 @@
  */
 package org.openwms.core.uaa.impl;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * A GrantRepository offers functionality to find and modify {@link Grant} entity classes.
@@ -29,4 +36,16 @@ interface GrantRepository extends JpaRepository<Grant, Long> {
     Optional<Grant> findBypKey(String pKey);
 
     Optional<Grant> findByName(String name);
+
+    List<Grant> findByNameIn(Collection<String> names);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select g from Grant g order by g.pk")
+    Stream<Grant> streamAll();
+
+    @Query("select new org.openwms.core.uaa.impl.GrantView(g.pKey, g.ol, g.name, g.description) from Grant g")
+    List<GrantView> findAllViews();
 }
\ No newline at end of file
@@ -23,12 +23,16 @@ import org.ameba.annotation.TxService;
 import org.ameba.exception.NotFoundException;
 import org.ameba.exception.ResourceExistsException;
 import org.ameba.i18n.Translator;
+import org.openwms.core.uaa.GrantMapper;
 import org.openwms.core.uaa.GrantService;
+import org.openwms.core.uaa.api.GrantVO;
 import org.openwms.core.uaa.api.ValidationGroups;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.openwms.core.uaa.MessageCodes.GRANT_WITH_NAME_ALREADY_EXISTS;
 import static org.openwms.core.uaa.MessageCodes.SO_WITH_PKEY_NOT_EXIST;
@@ -46,13 +50,19 @@ class GrantServiceImpl implements GrantService {
     private final UserRepository userRepository;
     private final Translator translator;
     private final ApplicationEventPublisher eventPublisher;
+    private final AuthoritySnapshots authoritySnapshots;
+    private final EntityStreamer entityStreamer;
+    private final GrantMapper mapper;
 
     GrantServiceImpl(GrantRepository grantRepository, UserRepository userRepository, Translator translator,
-            ApplicationEventPublisher eventPublisher) {
+            ApplicationEventPublisher eventPublisher, AuthoritySnapshots authoritySnapshots, EntityStreamer entityStreamer, GrantMapper mapper) {
         this.grantRepository = grantRepository;
         this.userRepository = userRepository;
         this.translator = translator;
         this.eventPublisher = eventPublisher;
+        this.authoritySnapshots = authoritySnapshots;
+        this.entityStreamer = entityStreamer;
+        this.mapper = mapper;
     }
 
     /**
@@ -79,10 +89,36 @@ class GrantServiceImpl implements GrantService {
      */
     @Override
     @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<GrantVO> findAllVOs() {
+        return mapper.convertViewsToVOs(grantRepository.findAllViews());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public long exportAll(@NotNull Consumer<Grant> consumer) {
+        return entityStreamer.forEach(grantRepository.streamAll(), consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The names of the {@code Grant}s are taken from the authority snapshot of the {@code User}, if one exists the {@code User} and its
+     * {@code Role}s are not loaded at all. Otherwise they are read together with the {@code User} in one statement.
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
     public List<@NotNull Grant> findAllFor(@NotBlank String username) {
-        var userInstance = userRepository.findByUsername(username).orElseThrow(
-                () -> new NotFoundException(translator, USER_WITH_NAME_NOT_EXIST, username));
-        return userInstance.getGrants().stream().filter(Grant.class::isInstance).map(Grant.class::cast).toList();
+        var snapshot = authoritySnapshots.find(username).orElseGet(() -> authoritySnapshots.snapshotOf(
+                userRepository.findAuthentication(username).orElseThrow(
+                        () -> new NotFoundException(translator, USER_WITH_NAME_NOT_EXIST, username))
+        ));
+        return snapshot.authorities().isEmpty() ? List.of() : grantRepository.findByNameIn(snapshot.authorities());
     }
 
     /**
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import javax.imageio.ImageIO;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An ImageScaler creates thumbnails with the means of the JDK only. Large source images are subsampled while decoding, so that the decoded
+ * image is never much larger than the thumbnail.
+ *
+ * @author Heiko Scherrer
+ */
+final class ImageScaler {
+
+    private ImageScaler() {
+    }
+
+    /**
+     * Read an image from {@code in} and scale it down so that it fits into a square of {@code size} pixels, keeping the aspect ratio.
+     * Smaller images are not scaled up.
+     *
+     * @param in The stream to read the image from
+     * @param size The maximum width and height of the thumbnail in pixels
+     * @return The thumbnail as PNG or {@literal null} if the data is no readable image
+     * @throws IOException if reading from {@code in} fails
+     */
+    static byte[] thumbnail(InputStream in, int size) throws IOException {
+        try (var iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) {
+                return null;
+            }
+            var readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            var reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                var param = reader.getDefaultReadParam();
+                // keep twice the thumbnail resolution for a smooth downscaling
+                var subsampling = Math.max(1, Math.max(reader.getWidth(0), reader.getHeight(0)) / (size * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                var source = reader.read(0, param);
+                var scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+                var width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+                var height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+                var target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                var g = target.createGraphics();
+                try {
+                    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                    g.drawImage(source, 0, 0, width, height, null);
+                } finally {
+                    g.dispose();
+                }
+                var out = new ByteArrayOutputStream();
+                ImageIO.write(target, "png", out);
+                return out.toByteArray();
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import java.util.List;
+
+/**
+ * An OutboxHandler receives the {@link OutboxMessage}s the {@link OutboxRelay} drains from the outbox. The messages are removed from the
+ * outbox once all handlers have returned, if a handler throws the batch is relayed again later. Hence, messages are delivered at least once
+ * and a handler must tolerate duplicates.
+ *
+ * @author Heiko Scherrer
+ */
+public interface OutboxHandler {
+
+    /**
+     * Handle a batch of messages in the order they have been written.
+     *
+     * @param messages The messages, never empty
+     */
+    void handle(List<OutboxMessage> messages);
+}
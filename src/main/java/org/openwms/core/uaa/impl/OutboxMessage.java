@@ -0,0 +1,108 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.openwms.core.uaa.ChangeFeed;
+import org.openwms.core.uaa.app.DefaultTimeProvider;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * An OutboxMessage is a domain event that has been stored in the transactional outbox together with the change that caused it, and that
+ * waits to be relayed to the {@link OutboxHandler}s.
+ *
+ * @author Heiko Scherrer
+ */
+@Entity
+@Table(name = "COR_UAA_OUTBOX")
+public class OutboxMessage implements Serializable {
+
+    @Id
+    @Column(name = "C_PK")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outboxGenerator")
+    @SequenceGenerator(name = "outboxGenerator", sequenceName = "uaa_outbox_seq", allocationSize = 50)
+    private Long pk;
+    /** The kind of the changed entity. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "C_ENTITY", nullable = false, length = 16)
+    private ChangeFeed.EntityType entity;
+    /** The persistent key of the changed entity. */
+    @Column(name = "C_PKEY", nullable = false)
+    private String pKey;
+    /** The business key of the changed entity, the username or the name of the Role or Grant. */
+    @Column(name = "C_NAME")
+    private String name;
+    /** The type of the event. */
+    @Column(name = "C_TYPE", nullable = false, length = 32)
+    private String type;
+    /** When the event happened. */
+    @Column(name = "C_OCCURRED_AT", nullable = false)
+    private ZonedDateTime occurredAt;
+
+    /**
+     * Dear JPA...
+     */
+    protected OutboxMessage() {
+        super();
+    }
+
+    OutboxMessage(ChangeFeed.EntityType entity, String pKey, String name, String type) {
+        this.entity = entity;
+        this.pKey = pKey;
+        this.name = name;
+        this.type = type;
+        this.occurredAt = new DefaultTimeProvider().nowAsZonedDateTime();
+    }
+
+    public Long getPk() {
+        return pk;
+    }
+
+    public ChangeFeed.EntityType getEntity() {
+        return entity;
+    }
+
+    public String getpKey() {
+        return pKey;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public ZonedDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    @Override
+    public String toString() {
+        return entity + "[" + name + "]:" + type;
+    }
+}
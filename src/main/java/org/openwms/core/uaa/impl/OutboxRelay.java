@@ -0,0 +1,149 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An OutboxRelay drains the transactional outbox asynchronously on a single background thread and passes the {@link OutboxMessage}s in
+ * batches of {@code owms.uaa.outbox.batch-size} to all {@link OutboxHandler}s. Each batch is read, handled and removed in one transaction.
+ * <p>
+ * Draining is triggered after each committed change, once at startup to relay what has been left over, and every
+ * {@code owms.uaa.outbox.poll-interval} to relay what a failed handler or another instance has left over without any further change.
+ * Triggers that arrive while the relay is already scheduled are coalesced. If a handler fails, the batch stays in the outbox and is relayed
+ * with the next trigger.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class OutboxRelay implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+    private final OutboxRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<OutboxHandler> handlers;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    OutboxRelay(OutboxRepository repository, PlatformTransactionManager transactionManager, ObjectProvider<OutboxHandler> handlers,
+            @Value("${owms.uaa.outbox.batch-size:100}") int batchSize,
+            @Value("${owms.uaa.outbox.poll-interval:10s}") Duration pollInterval) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.handlers = handlers;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        var threadFactory = new CustomizableThreadFactory("uaa-outbox-");
+        threadFactory.setDaemon(true);
+        var scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        scheduler.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        this.executor = scheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        trigger();
+        executor.scheduleWithFixedDelay(this::trigger, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserEvent(UserEvent event) {
+        trigger();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onRoleEvent(RoleEvent event) {
+        trigger();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGrantEvent(GrantEvent event) {
+        trigger();
+    }
+
+    /**
+     * Schedule draining the outbox, unless it is already scheduled.
+     */
+    void trigger() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Relay all messages of the outbox, batch by batch.
+     *
+     * @return The number of relayed messages
+     */
+    int drain() {
+        scheduled.set(false);
+        var total = 0;
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+                total += relayed;
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Relaying the outbox failed, the remaining messages are relayed with the next trigger: [{}]", e.getMessage());
+        }
+        return total;
+    }
+
+    private int relayBatch() {
+        var relayed = transactionTemplate.execute(status -> {
+            var messages = repository.findOldest(PageRequest.ofSize(batchSize));
+            if (!messages.isEmpty()) {
+                handlers.orderedStream().forEach(h -> h.handle(messages));
+                repository.deleteAllInBatch(messages);
+            }
+            return messages.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Stop the relay, messages not relayed yet stay in the outbox.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
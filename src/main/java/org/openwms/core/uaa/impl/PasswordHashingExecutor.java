@@ -0,0 +1,148 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openwms.core.uaa.HashingCapacityExceededException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A PasswordHashingExecutor runs expensive password hashing and verification on a dedicated, size-limited thread pool with a bounded
+ * waiting queue. A burst of authentications does not occupy more CPU than the pool allows, and when the queue is full callers fail fast
+ * with a {@link HashingCapacityExceededException} instead of piling up.
+ * <p>
+ * The executor is opt-in. When disabled, {@link #decorate(PasswordEncoder)} returns the given encoder untouched and all hashing happens on
+ * the calling thread.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class PasswordHashingExecutor implements DisposableBean {
+
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final ThreadPoolExecutor executor;
+    private final Timer waitTime;
+    private final Timer encodeTime;
+    private final Timer matchesTime;
+    private final Counter rejected;
+
+    PasswordHashingExecutor(
+            @Value("${owms.security.hashing.enabled:false}") boolean enabled,
+            @Value("${owms.security.hashing.pool-size:0}") int poolSize,
+            @Value("${owms.security.hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${owms.security.hashing.retry-after:1s}") Duration retryAfter,
+            MeterRegistry registry
+    ) {
+        this.enabled = enabled;
+        this.retryAfter = retryAfter;
+        var threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        var threadFactory = new CustomizableThreadFactory("uaa-hashing-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("owms.uaa.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Number of password hashing tasks waiting for a thread").register(registry);
+        this.waitTime = Timer.builder("owms.uaa.hashing.wait")
+                .description("Time a password hashing task waited in the queue").register(registry);
+        this.encodeTime = Timer.builder("owms.uaa.hashing.duration").tag("operation", "encode")
+                .description("Time spent to hash a password").register(registry);
+        this.matchesTime = Timer.builder("owms.uaa.hashing.duration").tag("operation", "matches")
+                .description("Time spent to hash a password").register(registry);
+        this.rejected = Counter.builder("owms.uaa.hashing.rejected")
+                .description("Password hashing tasks rejected because the queue was full").register(registry);
+    }
+
+    /**
+     * Wrap a {@link PasswordEncoder} so that {@code encode} and {@code matches} are executed on the hashing pool.
+     *
+     * @param delegate The encoder doing the actual work
+     * @return The decorated encoder, or the {@code delegate} itself if the executor is disabled
+     */
+    PasswordEncoder decorate(PasswordEncoder delegate) {
+        if (!enabled) {
+            return delegate;
+        }
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return execute(encodeTime, () -> delegate.encode(rawPassword));
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return execute(matchesTime, () -> delegate.matches(rawPassword, encodedPassword));
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return delegate.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    private <T> T execute(Timer duration, Supplier<T> task) {
+        var submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                waitTime.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return duration.record(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingCapacityExceededException("Password hashing capacity exceeded, retry later", retryAfter);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Shutdown the hashing pool.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
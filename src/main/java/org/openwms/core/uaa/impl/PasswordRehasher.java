@@ -0,0 +1,129 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A PasswordRehasher re-encodes the stored password hash of an {@link User} after a successful login, when the {@link PasswordEncoder}
+ * reports the stored encoding as outdated (e.g. a different algorithm or a different bcrypt strength). Re-encoding happens asynchronously
+ * on a single background thread, so the login itself does not pay for the second hash calculation.
+ * <p>
+ * The new hash is only written if the stored hash is still the one the credentials have been verified against. A rehash that cannot be
+ * scheduled or fails is skipped and tried again on the next login.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class PasswordRehasher implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordRehasher.class);
+    private final boolean enabled;
+    private final PasswordEncoder enc;
+    private final UserRepository repository;
+    private final TransactionTemplate txTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+    private final Counter rehashed;
+
+    PasswordRehasher(
+            @Value("${owms.security.encoder.rehash-on-login:false}") boolean enabled,
+            PasswordEncoder enc,
+            UserRepository repository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry
+    ) {
+        this.enabled = enabled;
+        this.enc = enc;
+        this.repository = repository;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        var threadFactory = new CustomizableThreadFactory("uaa-rehash-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100), threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rehashed = Counter.builder("owms.uaa.password.rehashed")
+                .description("Stored password hashes re-encoded after login").register(registry);
+    }
+
+    /**
+     * Schedule the re-encoding of the password of the {@link User} if the {@code storedHash} is outdated.
+     *
+     * @param username The username of the successfully authenticated User
+     * @param rawPassword The verified raw password
+     * @param storedHash The stored hash the raw password has been verified against
+     */
+    void rehashIfNeeded(String username, String rawPassword, String storedHash) {
+        if (!enabled || storedHash == null || !enc.upgradeEncoding(storedHash) || !inProgress.add(username)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    rehash(username, rawPassword, storedHash);
+                } catch (Exception e) {
+                    LOGGER.warn("Re-encoding the password of User [{}] failed: [{}]", username, e.getMessage());
+                } finally {
+                    inProgress.remove(username);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inProgress.remove(username);
+            LOGGER.debug("Re-encoding the password of User [{}] skipped, too many pending", username);
+        }
+    }
+
+    private void rehash(String username, String rawPassword, String storedHash) {
+        var newHash = enc.encode(rawPassword);
+        txTemplate.executeWithoutResult(status -> repository.findByUsername(username)
+                .filter(user -> storedHash.equals(user.getPassword()))
+                .ifPresent(user -> {
+                    user.rehashPassword(newHash);
+                    repository.save(user);
+                    rehashed.increment();
+                    LOGGER.debug("Re-encoded the password of User [{}]", username);
+                })
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Shutdown the background thread.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
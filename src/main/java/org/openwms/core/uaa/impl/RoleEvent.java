@@ -19,6 +19,9 @@ import org.openwms.core.event.RootApplicationEvent;
 import org.springframework.util.Assert;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * A RoleEvent.
@@ -28,11 +31,19 @@ import java.io.Serializable;
 public class RoleEvent extends RootApplicationEvent implements Serializable {
 
     private EventType type;
+    /** Usernames of Users whose membership in the Role has been changed. */
+    private List<String> affectedUsernames;
 
     public RoleEvent(Role source, EventType type) {
+        this(source, type, List.of());
+    }
+
+    public RoleEvent(Role source, EventType type, Collection<String> affectedUsernames) {
         super(source);
         Assert.notNull(type, "type must not be null");
+        Assert.notNull(affectedUsernames, "affectedUsernames must not be null");
         this.type = type;
+        this.affectedUsernames = new ArrayList<>(affectedUsernames);
     }
 
     public enum EventType {
@@ -45,6 +56,10 @@ public class RoleEvent extends RootApplicationEvent implements Serializable {
         return type;
     }
 
+    public List<String> getAffectedUsernames() {
+        return affectedUsernames;
+    }
+
     @Override
     public Role getSource() {
         return (Role) super.getSource();
@@ -15,13 +15,20 @@
  */
 package org.openwms.core.uaa.impl;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * A RoleRepository offers functionality to find and modify {@link Role} entity classes.
@@ -36,7 +43,85 @@ interface RoleRepository extends JpaRepository<Role, Long> {
 
     List<Role> findByNameIn(List<String> names);
 
+    boolean existsBypKey(String pKey);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Role r order by r.pk")
+    Stream<Role> streamAll();
+
+    @Query("select new org.openwms.core.uaa.impl.RoleView(r.pKey, r.ol, r.name, r.description, r.immutable) from Role r")
+    List<RoleView> findAllViews();
+
+    /**
+     * Find a slice of the {@link User}s assigned to the {@link Role} with {@code pKey}, ordered by username. Only the join table and the
+     * User columns of the summary are read.
+     *
+     * @param pKey The persistent key of the Role
+     * @param after Only Users with a username greater than this one (keyset), {@literal null} to start with the first one
+     * @param pageable Defines the size of the slice
+     * @return The slice
+     */
+    @Query("""
+            select new org.openwms.core.uaa.impl.UserSummary(u.pKey, u.username, u.fullname, u.enabled, u.locked)
+            from Role r join r.users u
+            where r.pKey = :pKey and (:after is null or u.username > :after)
+            order by u.username
+            """)
+    Slice<UserSummary> findUsersOf(@Param("pKey") String pKey, @Param("after") String after, Pageable pageable);
+
     @Modifying
     @Query("delete from Role r where r.pKey = :pKey")
     void deleteByPKey(@Param("pKey") String pKey);
+
+    /**
+     * Assign the {@link User} to the {@link Role} by inserting the join row, without loading the assigned Users. Nothing is inserted if the
+     * User is already assigned. Pending changes are flushed before and the persistence context is cleared afterwards, so that no stale
+     * collection of assigned Users is used.
+     *
+     * @param rolePk The primary key of the Role
+     * @param userPk The primary key of the User
+     * @return The number of inserted rows, 0 or 1
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) select :rolePk, :userPk
+            where not exists (select 1 from COR_UAA_ROLE_USER where C_ROLE_ID = :rolePk and C_USER_ID = :userPk)
+            """, nativeQuery = true)
+    int insertMembership(@Param("rolePk") Long rolePk, @Param("userPk") Long userPk);
+
+    /**
+     * Unassign the {@link User} from the {@link Role} by deleting the join row, without loading the assigned Users. Pending changes are
+     * flushed before and the persistence context is cleared afterwards.
+     *
+     * @param rolePk The primary key of the Role
+     * @param userPk The primary key of the User
+     * @return The number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from COR_UAA_ROLE_USER where C_ROLE_ID = :rolePk and C_USER_ID = :userPk", nativeQuery = true)
+    int deleteMembership(@Param("rolePk") Long rolePk, @Param("userPk") Long userPk);
+
+    /**
+     * Find which of the given {@link User}s are assigned to the {@link Role} by a lookup on the join table only.
+     *
+     * @param rolePk The primary key of the Role
+     * @param userPks The primary keys of the Users to check
+     * @return The primary keys of the assigned Users, typed as the JDBC driver returns the column
+     */
+    @Query(value = "select C_USER_ID from COR_UAA_ROLE_USER where C_ROLE_ID = :rolePk and C_USER_ID in (:userPks)", nativeQuery = true)
+    List<Number> findMemberships(@Param("rolePk") Long rolePk, @Param("userPks") Collection<Long> userPks);
+
+    /**
+     * Unassign all given {@link User}s from the {@link Role} with one statement.
+     *
+     * @param rolePk The primary key of the Role
+     * @param userPks The primary keys of the Users
+     * @return The number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "delete from COR_UAA_ROLE_USER where C_ROLE_ID = :rolePk and C_USER_ID in (:userPks)", nativeQuery = true)
+    int deleteMemberships(@Param("rolePk") Long rolePk, @Param("userPks") Collection<Long> userPks);
 }
\ No newline at end of file
@@ -16,8 +16,11 @@
 package org.openwms.core.uaa.impl;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
 import org.ameba.exception.NotFoundException;
@@ -28,17 +31,29 @@ import org.openwms.core.uaa.RoleMapper;
 import org.openwms.core.uaa.RoleService;
 import org.openwms.core.uaa.UserService;
 import org.openwms.core.uaa.api.RoleVO;
+import org.openwms.core.uaa.api.UserVO;
 import org.openwms.core.uaa.api.ValidationGroups;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static org.openwms.core.uaa.MessageCodes.ROLE_WITH_PKEY_NOT_EXIST;
+import static org.openwms.core.uaa.MessageCodes.USER_WITH_PKEY_NOT_EXIST;
 
 /**
  * A RoleServiceImpl is a Spring managed transactional service that deals with {@link Role}s.
@@ -49,20 +64,32 @@ import static org.openwms.core.uaa.MessageCodes.ROLE_WITH_PKEY_NOT_EXIST;
 class RoleServiceImpl implements RoleService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RoleServiceImpl.class);
+    private static final String INSERT_MEMBERSHIP_IF_ABSENT = """
+            insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) select ?, ?
+            where not exists (select 1 from COR_UAA_ROLE_USER where C_ROLE_ID = ? and C_USER_ID = ?)
+            """;
     private final RoleRepository repository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
     private final UserService userService;
     private final GrantService grantService;
     private final RoleMapper mapper;
     private final Translator translator;
     private final ApplicationEventPublisher eventPublisher;
+    private final EntityStreamer entityStreamer;
 
-    RoleServiceImpl(RoleRepository repository, UserService userService, GrantService grantService, RoleMapper mapper, Translator translator, ApplicationEventPublisher eventPublisher) {
+    RoleServiceImpl(RoleRepository repository, UserRepository userRepository, JdbcTemplate jdbcTemplate, UserService userService,
+            GrantService grantService, RoleMapper mapper, Translator translator, ApplicationEventPublisher eventPublisher,
+            EntityStreamer entityStreamer) {
         this.repository = repository;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
         this.userService = userService;
         this.grantService = grantService;
         this.mapper = mapper;
         this.translator = translator;
         this.eventPublisher = eventPublisher;
+        this.entityStreamer = entityStreamer;
     }
 
     /**
@@ -71,7 +98,27 @@ class RoleServiceImpl implements RoleService {
     @Override
     @Measured
     public @NotNull List<RoleVO> findAll() {
-        return mapper.convertToVO(repository.findAll());
+        return mapper.convertToVOWithoutUsers(repository.findAll());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<RoleVO> findAllVOs() {
+        return mapper.convertViewsToVO(repository.findAllViews());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public long exportAll(@NotNull Consumer<RoleVO> consumer) {
+        return entityStreamer.forEach(repository.streamAll(), role -> consumer.accept(mapper.convertToVOWithoutUsers(role)));
     }
 
     /**
@@ -80,7 +127,19 @@ class RoleServiceImpl implements RoleService {
     @Override
     @Measured
     public @NotNull RoleVO findByPKey(@NotBlank String pKey) {
-        return mapper.convertToVO(findByPKeyInternal(pKey));
+        return mapper.convertToVOWithoutUsers(findByPKeyInternal(pKey));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public @NotNull Slice<UserVO> findUsers(@NotBlank String pKey, String after, @Min(1) int size) {
+        if (!repository.existsBypKey(pKey)) {
+            throw new NotFoundException(translator.translate(ROLE_WITH_PKEY_NOT_EXIST, pKey), ROLE_WITH_PKEY_NOT_EXIST, pKey);
+        }
+        return repository.findUsersOf(pKey, after, PageRequest.of(0, size)).map(mapper::convertSummaryToVO);
     }
 
     /**
@@ -108,7 +167,7 @@ class RoleServiceImpl implements RoleService {
         newRole = repository.save(newRole);
         eventPublisher.publishEvent(new RoleEvent(newRole, RoleEvent.EventType.CREATED));
         LOGGER.debug("Created Role [{}]", newRole);
-        return mapper.convertToVO(newRole);
+        return mapper.convertToVOWithoutUsers(newRole);
     }
 
     /**
@@ -123,7 +182,7 @@ class RoleServiceImpl implements RoleService {
         existingRole.setDescription(role.getDescription());
         existingRole = repository.save(existingRole);
         eventPublisher.publishEvent(new RoleEvent(existingRole, RoleEvent.EventType.MODIFIED));
-        return mapper.convertToVO(existingRole);
+        return mapper.convertToVOWithoutUsers(existingRole);
     }
 
     private Role findByPKeyInternal(String pKey) {
@@ -148,30 +207,105 @@ class RoleServiceImpl implements RoleService {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The persistence context is cleared after the join row has been inserted, so the result is mapped before.
      */
     @Override
     @Measured
     public @NotNull RoleVO assignUser(@NotBlank String pKey, @NotBlank String userPKey) {
         var role = findByPKeyInternal(pKey);
         var user = userService.findByPKey(userPKey);
-        role.addUser(user);
-        role = repository.save(role);
-        eventPublisher.publishEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED));
-        return mapper.convertToVO(role);
+        var result = mapper.convertToVOWithoutUsers(role);
+        if (repository.insertMembership(role.getPk(), user.getPk()) > 0) {
+            eventPublisher.publishEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED, List.of(user.getUsername())));
+        }
+        return result;
     }
 
     /**
      * {@inheritDoc}
+     * <p>
+     * The persistence context is cleared after the join row has been deleted, so the result is mapped before.
      */
     @Override
     @Measured
     public @NotNull RoleVO unassignUser(@NotBlank String pKey, @NotBlank String userPKey) {
         var role = findByPKeyInternal(pKey);
         var user = userService.findByPKey(userPKey);
-        role.removeUser(user);
-        role = repository.save(role);
-        eventPublisher.publishEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED));
-        return mapper.convertToVO(role);
+        var result = mapper.convertToVOWithoutUsers(role);
+        if (repository.deleteMembership(role.getPk(), user.getPk()) > 0) {
+            eventPublisher.publishEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED, List.of(user.getUsername())));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The missing join rows are inserted with one JDBC batch. Each insert skips the row if it has been inserted in the meantime, so a
+     * concurrent assignment of the same {@code User} is not inserted twice. Only when both inserts overlap, the primary key of the join
+     * table rejects the second one.
+     */
+    @Override
+    @Measured
+    public @NotNull RoleVO assignUsers(@NotBlank String pKey, @NotEmpty @Size(max = MAX_BULK_USERS) List<@NotBlank String> userPKeys) {
+        var role = findByPKeyInternal(pKey);
+        var users = findUsersInternal(userPKeys);
+        var assigned = findMembershipsInternal(role.getPk(), users.keySet());
+        var toAssign = users.keySet().stream().filter(userPk -> !assigned.contains(userPk)).toList();
+        if (!toAssign.isEmpty()) {
+            var counts = jdbcTemplate.batchUpdate(INSERT_MEMBERSHIP_IF_ABSENT,
+                    toAssign.stream().map(userPk -> new Object[]{role.getPk(), userPk, role.getPk(), userPk}).toList());
+            var inserted = new ArrayList<String>(toAssign.size());
+            for (var i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    inserted.add(users.get(toAssign.get(i)));
+                }
+            }
+            if (!inserted.isEmpty()) {
+                eventPublisher.publishEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED, inserted));
+            }
+        }
+        return mapper.convertToVOWithoutUsers(role);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The join rows are deleted with one statement. The persistence context is cleared afterwards, so the result is mapped before.
+     */
+    @Override
+    @Measured
+    public @NotNull RoleVO unassignUsers(@NotBlank String pKey, @NotEmpty @Size(max = MAX_BULK_USERS) List<@NotBlank String> userPKeys) {
+        var role = findByPKeyInternal(pKey);
+        var users = findUsersInternal(userPKeys);
+        var assigned = findMembershipsInternal(role.getPk(), users.keySet());
+        var result = mapper.convertToVOWithoutUsers(role);
+        if (!assigned.isEmpty()) {
+            repository.deleteMemberships(role.getPk(), assigned);
+            eventPublisher.publishEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED, assigned.stream().map(users::get).toList()));
+        }
+        return result;
+    }
+
+    /*
+     * Native queries return the key column with the type of the JDBC driver, e.g. Integer or BigDecimal instead of Long.
+     */
+    private Set<Long> findMembershipsInternal(Long rolePk, Collection<Long> userPks) {
+        return repository.findMemberships(rolePk, userPks).stream().map(Number::longValue).collect(Collectors.toSet());
+    }
+
+    /*
+     * Returns the usernames by primary key, all Users must exist.
+     */
+    private Map<Long, String> findUsersInternal(List<String> userPKeys) {
+        var users = userRepository.findBypKeyIn(new HashSet<>(userPKeys));
+        var found = users.stream().map(User::getPersistentKey).collect(Collectors.toSet());
+        var missing = userPKeys.stream().filter(k -> !found.contains(k)).distinct().collect(Collectors.joining(", "));
+        if (!missing.isEmpty()) {
+            throw new NotFoundException(translator.translate(USER_WITH_PKEY_NOT_EXIST, missing), USER_WITH_PKEY_NOT_EXIST, missing);
+        }
+        return users.stream().collect(Collectors.toMap(User::getPk, User::getUsername));
     }
 
     /**
@@ -185,6 +319,6 @@ class RoleServiceImpl implements RoleService {
         role.removeGrant(grant);
         role = repository.save(role);
         eventPublisher.publishEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED));
-        return mapper.convertToVO(role);
+        return mapper.convertToVOWithoutUsers(role);
     }
 }
\ No newline at end of file
@@ -18,56 +18,190 @@ package org.openwms.core.uaa.impl;
 import org.ameba.annotation.Measured;
 import org.ameba.annotation.TxService;
 import org.ehcache.core.Ehcache;
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventFiring;
+import org.ehcache.event.EventOrdering;
+import org.ehcache.event.EventType;
 import org.openwms.core.uaa.UserService;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.ApplicationListener;
 import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-import static java.time.ZonedDateTime.now;
 import static java.util.Arrays.asList;
 
 /**
  * A SecurityContextUserServiceImpl extends Spring {@link UserDetailsService} to
  * read {@code User}s and {@code Role}s from the persistent storage and wraps them into security objects.
+ * <p>
+ * Cached {@link UserDetails} are evicted selectively. For each cached {@code User} a reverse index remembers the {@code Role}s and
+ * {@code Grant}s the {@code User} holds, so that a change of a {@code Role} or {@code Grant} only evicts the affected {@code User}s. On a cache
+ * miss the credentials, account flags and authorities are read with a single statement, the {@code User} entity is not loaded.
+ * <p>
+ * Evictions happen after the change has been committed. {@link UserDetails} read before and cached after an eviction are evicted again.
+ * Entries the cache expires or evicts on its own are removed from the reverse index as well, so that the index does not outgrow the
+ * cache.
  *
  * @author <a href="mailto:russelltina@users.sourceforge.net">Tina Russell</a>
  */
 @TxService
-class SecurityContextUserServiceImpl implements UserDetailsService, ApplicationListener<UserEvent> {
+class SecurityContextUserServiceImpl implements UserDetailsService, InitializingBean {
 
     private final String systemUsername;
     private final UserService userService;
+    private final UserRepository repository;
     private final UserCache userCache;
     private final Ehcache cache;
     private final PasswordEncoder enc;
+    private final AuthoritySnapshots authoritySnapshots;
+    /** The SystemUser with its encoded password, kept across cache misses until a Grant changes. */
+    private volatile SecureUser systemUserDetails;
+    /** Usernames of cached Users, by the persistent key of each Role and Grant they hold. */
+    private final Map<String, Set<String>> usernamesBySecurityObject = new ConcurrentHashMap<>();
+    /** Usernames of cached Users, by the persistent key of the User. */
+    private final Map<String, String> usernamesByUser = new ConcurrentHashMap<>();
+    /** Incremented with each eviction, to detect UserDetails that have been read before an eviction. */
+    private final AtomicLong evictions = new AtomicLong();
 
     public SecurityContextUserServiceImpl(
             @Value("${owms.security.system.username:}") String systemUsername,
             UserService userService,
+            UserRepository repository,
             @Autowired(required = false) UserCache userCache,
             @Autowired(required = false) Ehcache cache,
-            PasswordEncoder enc
+            PasswordEncoder enc,
+            AuthoritySnapshots authoritySnapshots
     ) {
         this.systemUsername = systemUsername == null ? SystemUser.SYSTEM_USERNAME : systemUsername;
         this.userService = userService;
+        this.repository = repository;
         this.userCache = userCache;
         this.cache = cache;
         this.enc = enc;
+        this.authoritySnapshots = authoritySnapshots;
     }
 
     /**
-     * {@inheritDoc}
+     * Register a listener at the cache to prune the reverse index when the cache expires or evicts an entry.
      */
     @Override
-    public void onApplicationEvent(UserEvent event) {
+    @SuppressWarnings("unchecked")
+    public void afterPropertiesSet() {
+        if (cache != null) {
+            cache.getRuntimeConfiguration().registerCacheEventListener(
+                    (CacheEventListener<Object, Object>) this::onCacheEvent,
+                    EventOrdering.UNORDERED,
+                    EventFiring.SYNCHRONOUS,
+                    EnumSet.of(EventType.EXPIRED, EventType.EVICTED)
+            );
+        }
+    }
+
+    void onCacheEvent(CacheEvent<?, ?> event) {
+        if (event.getKey() instanceof String username && !cache.containsKey(username)) {
+            unindex(username);
+        }
+    }
+
+    /**
+     * Only the modified {@code User} is evicted from the cache, also with the username it had been cached with before.
+     *
+     * @param event The event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserEvent(UserEvent event) {
+        evictions.incrementAndGet();
+        var user = event.getSource();
+        if (user.getPersistentKey() != null) {
+            var cachedUsername = usernamesByUser.remove(user.getPersistentKey());
+            if (cachedUsername != null) {
+                evict(cachedUsername);
+            }
+        }
+        evict(user.getUsername());
+    }
+
+    /**
+     * Evict all cached {@code User}s that hold the changed {@code Role} or whose membership has been changed.
+     *
+     * @param event The event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleEvent(RoleEvent event) {
+        evictions.incrementAndGet();
+        evictAllHolding(event.getSource());
+        event.getAffectedUsernames().forEach(this::evict);
+    }
+
+    /**
+     * Evict all cached {@code User}s that hold the changed {@code Grant} and the system user, that holds all {@code Grant}s.
+     *
+     * @param event The event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGrantEvent(GrantEvent event) {
+        evictions.incrementAndGet();
+        systemUserDetails = null;
+        evictAllHolding(event.getSource());
+        evict(systemUsername);
+    }
+
+    private void evictAllHolding(SecurityObject securityObject) {
+        if (securityObject.getPersistentKey() == null) {
+            return;
+        }
+        var usernames = usernamesBySecurityObject.remove(securityObject.getPersistentKey());
+        if (usernames != null) {
+            usernames.forEach(this::evict);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evict(String username) {
+        if (userCache != null) {
+            userCache.removeUserFromCache(username);
+        }
         if (cache != null) {
-            cache.clear();
+            cache.remove(username);
+        }
+    }
+
+    private void index(String username, String userKey, AuthoritySnapshots.Snapshot snapshot) {
+        if (userCache == null && cache == null) {
+            return;
+        }
+        if (userKey != null) {
+            usernamesByUser.put(userKey, username);
+        }
+        for (var key : snapshot.securityObjectKeys()) {
+            usernamesBySecurityObject.compute(key, (k, usernames) -> {
+                var result = usernames == null ? ConcurrentHashMap.<String>newKeySet() : usernames;
+                result.add(username);
+                return result;
+            });
+        }
+    }
+
+    private void unindex(String username) {
+        usernamesByUser.values().removeIf(username::equals);
+        for (var key : usernamesBySecurityObject.keySet()) {
+            usernamesBySecurityObject.computeIfPresent(key, (k, usernames) -> {
+                usernames.remove(username);
+                return usernames.isEmpty() ? null : usernames;
+            });
         }
     }
 
@@ -82,33 +216,43 @@ class SecurityContextUserServiceImpl implements UserDetailsService, ApplicationL
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         var ud = userCache == null ? null : userCache.getUserFromCache(username);
         if (null == ud) {
+            var evictionsBefore = evictions.get();
             if (systemUsername.equals(username)) {
-                var user = userService.createSystemUser();
-                ud = new SecureUser(
-                        systemUsername,
-                        enc.encode(user.getPassword()),
-                        true,
-                        true,
-                        true,
-                        true,
-                        asList(new SecurityObjectAuthority(SystemUser.SYSTEM_ROLE_NAME))
-                );
+                ud = systemUserDetails;
+                if (ud == null) {
+                    var user = userService.createSystemUser();
+                    systemUserDetails = new SecureUser(
+                            systemUsername,
+                            enc.encode(user.getPassword()),
+                            true,
+                            true,
+                            true,
+                            true,
+                            asList(new SecurityObjectAuthority(SystemUser.SYSTEM_ROLE_NAME))
+                    );
+                    ud = systemUserDetails;
+                }
             } else {
-                var user = userService
-                        .findByUsername(username)
+                var authentication = repository
+                        .findAuthentication(username)
                         .orElseThrow(() -> new UsernameNotFoundException(String.format("User with username [%s] not found", username)));
+                var snapshot = authoritySnapshots.snapshotOf(authentication);
                 ud = new SecureUser(
                         username,
-                        user.getPassword(),
-                        user.getExpirationDate() == null || user.getExpirationDate().isAfter(now()),
-                        !user.isLocked(),
+                        authentication.password(),
+                        authentication.isNonExpired(),
+                        !authentication.locked(),
                         true,
-                        user.isEnabled(),
-                        user.getGrants().stream().map(SecurityObjectAuthority::new).toList()
+                        authentication.enabled(),
+                        snapshot.authorities().stream().map(SecurityObjectAuthority::new).toList()
                         );
+                index(authentication.username(), authentication.pKey(), snapshot);
             }
             if (userCache != null) {
                 userCache.putUserInCache(ud);
+                if (evictions.get() != evictionsBefore) {
+                    evict(username);
+                }
             }
         }
         return ud;
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A SequenceRealigner migrates the database sequences of the UAA entities to the allocation size of the mapping. This is required when the
+ * mapping is switched from {@code META-INF/uaa-orm.xml} (one {@code nextval} per row) to {@code META-INF/uaa-orm-pooled.xml} (one
+ * {@code nextval} per block of identifiers), because the pooled optimizers expect the sequence to increment by the allocation size.
+ * <p>
+ * The allocation size of each sequence is read from the {@code sequence-generator}s of the configured {@code spring.jpa.mapping-resources}.
+ * Only sequences whose increment differs are changed. Such a sequence is restarted above the highest existing primary key plus one block,
+ * so no identifier can be handed out twice, whatever optimizer has been used before. The realignment runs before the
+ * {@code EntityManagerFactory} is built, because Hibernate rejects a sequence that does not increment by the allocation size. It is meant
+ * to run once while no other instance is writing; once the sequences are aligned, it does nothing. It is opt-in.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class SequenceRealigner implements InitializingBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SequenceRealigner.class);
+    /** The allocation size JPA defines when a sequence-generator does not declare one. */
+    private static final int DEFAULT_ALLOCATION_SIZE = 50;
+    /** All sequences of the UAA entities and the tables they generate the primary keys for. */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "uaa_user_seq", "COR_UAA_USER",
+            "uaa_so_seq", "COR_UAA_ROLE",
+            "uaa_email_seq", "COR_UAA_EMAIL",
+            "uaa_up_seq", "COR_UAA_USER_PASSWORD",
+            "uaa_image_seq", "COR_UAA_USER_IMAGE"
+    );
+    private final boolean enabled;
+    private final Map<String, Integer> allocationSizes;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    SequenceRealigner(
+            @Value("${owms.uaa.id.realign-sequences:false}") boolean enabled,
+            JpaProperties jpaProperties,
+            JdbcTemplate jdbcTemplate
+    ) {
+        this(enabled, enabled ? allocationSizesOf(jpaProperties.getMappingResources()) : Map.of(), jdbcTemplate);
+    }
+
+    SequenceRealigner(boolean enabled, Map<String, Integer> allocationSizes, JdbcTemplate jdbcTemplate) {
+        this.enabled = enabled;
+        this.allocationSizes = allocationSizes;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Read the allocation size of each UAA sequence from the {@code sequence-generator}s of the given mapping files.
+     *
+     * @param mappingResources The classpath locations of the mapping files
+     * @return The allocation size by sequence name
+     * @throws IllegalStateException if a mapping file cannot be read
+     */
+    static Map<String, Integer> allocationSizesOf(List<String> mappingResources) {
+        var result = new TreeMap<String, Integer>();
+        for (var resource : mappingResources) {
+            try (var in = new ClassPathResource(resource).getInputStream()) {
+                var factory = DocumentBuilderFactory.newInstance();
+                factory.setNamespaceAware(true);
+                factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+                var generators = factory.newDocumentBuilder().parse(in).getElementsByTagNameNS("*", "sequence-generator");
+                for (var i = 0; i < generators.getLength(); i++) {
+                    var generator = (Element) generators.item(i);
+                    var sequence = generator.getAttribute("sequence-name").toLowerCase();
+                    if (SEQUENCES.containsKey(sequence)) {
+                        result.put(sequence, generator.hasAttribute("allocation-size")
+                                ? Integer.parseInt(generator.getAttribute("allocation-size").trim())
+                                : DEFAULT_ALLOCATION_SIZE);
+                    }
+                }
+            } catch (IOException | ParserConfigurationException | SAXException e) {
+                throw new IllegalStateException("Cannot read the sequence generators of mapping file [%s]".formatted(resource), e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Realign the sequences if enabled.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            if (allocationSizes.isEmpty()) {
+                LOGGER.warn("No sequence-generator of the UAA sequences found in the mapping files, nothing is realigned");
+            }
+            realign();
+        }
+    }
+
+    /**
+     * Realign all sequences whose increment differs from the allocation size of the mapping.
+     *
+     * @return The number of realigned sequences
+     */
+    int realign() {
+        var realigned = 0;
+        for (var entry : allocationSizes.entrySet()) {
+            var sequence = entry.getKey();
+            var allocationSize = entry.getValue();
+            var increment = jdbcTemplate.queryForList(
+                    "select increment from information_schema.sequences where lower(sequence_name) = ?", String.class, sequence);
+            if (increment.isEmpty()) {
+                LOGGER.info("Sequence [{}] does not exist yet and is not realigned", sequence);
+                continue;
+            }
+            if (Long.parseLong(increment.get(0).trim()) == allocationSize) {
+                continue;
+            }
+            var maxPk = jdbcTemplate.queryForObject("select coalesce(max(C_PK), 0) from " + SEQUENCES.get(sequence), Long.class);
+            var restart = (maxPk == null ? 0 : maxPk) + allocationSize;
+            jdbcTemplate.execute("alter sequence %s restart with %d increment by %d".formatted(sequence, restart, allocationSize));
+            LOGGER.info("Realigned sequence [{}] to restart with [{}] and increment by [{}]", sequence, restart, allocationSize);
+            realigned++;
+        }
+        return realigned;
+    }
+
+    /**
+     * Builds the {@code EntityManagerFactory} after the {@link SequenceRealigner}, because Hibernate validates the increment of each
+     * sequence against the mapping when the {@code EntityManagerFactory} is built.
+     */
+    @Component
+    static class EntityManagerFactoryDependsOnSequenceRealigner extends EntityManagerFactoryDependsOnPostProcessor {
+
+        EntityManagerFactoryDependsOnSequenceRealigner() {
+            super(SequenceRealigner.class);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.openwms.core.uaa.ChangeFeed;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * A TransactionalOutbox stores the {@link UserEvent}s, {@link RoleEvent}s and {@link GrantEvent}s as {@link OutboxMessage}s right before
+ * the transaction that caused them commits. The messages are committed together with the change, or not at all, and are relayed later
+ * by the {@link OutboxRelay}. A change of the {@code User}s assigned to a {@code Role} is stored as a modification of each affected
+ * {@code User} as well.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class TransactionalOutbox {
+
+    private final OutboxRepository repository;
+    private final UserRepository userRepository;
+
+    TransactionalOutbox(OutboxRepository repository, UserRepository userRepository) {
+        this.repository = repository;
+        this.userRepository = userRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserEvent(UserEvent event) {
+        var user = event.getSource();
+        write(ChangeFeed.EntityType.USER, user.getPersistentKey(), user.getUsername(), event.getType().name());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onRoleEvent(RoleEvent event) {
+        var role = event.getSource();
+        write(ChangeFeed.EntityType.ROLE, role.getPersistentKey(), role.getName(), event.getType().name());
+        if (!event.getAffectedUsernames().isEmpty()) {
+            userRepository.findSummariesOf(event.getAffectedUsernames())
+                    .forEach(u -> write(ChangeFeed.EntityType.USER, u.pKey(), u.username(), UserEvent.EventType.MODIFIED.name()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onGrantEvent(GrantEvent event) {
+        var grant = event.getSource();
+        write(ChangeFeed.EntityType.GRANT, grant.getPersistentKey(), grant.getName(), event.getType().name());
+    }
+
+    private void write(ChangeFeed.EntityType entity, String pKey, String name, String type) {
+        if (pKey != null) {
+            repository.save(new OutboxMessage(entity, pKey, name, type));
+        }
+    }
+}
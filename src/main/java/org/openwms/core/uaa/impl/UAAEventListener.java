@@ -15,30 +15,162 @@
  */
 package org.openwms.core.uaa.impl;
 
-import org.ameba.annotation.Measured;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openwms.core.uaa.ChangeFeed;
+import org.openwms.core.uaa.app.DefaultTimeProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
- * A UAAEventListener.
+ * A UAAEventListener logs the {@link UserEvent}s relayed from the transactional outbox.
+ * <p>
+ * The events are not processed on the relay thread. They are buffered per {@code User} for {@code owms.uaa.events.coalesce-window} and
+ * processed on a dedicated thread afterward, so that a burst of changes to the same {@code User} is processed once with its latest event.
+ * At most {@code owms.uaa.events.max-pending} Users are buffered, further batches are rejected and therefore stay in the outbox. Once the
+ * buffer has been processed after a rejection, the {@link OutboxRelay} is triggered to relay the rejected batches again.
+ * <p>
+ * Buffered messages are already removed from the outbox, so processing them is best-effort: they are lost when the service stops or
+ * crashes before the buffer has been processed. Work that must not be lost belongs into an {@link OutboxHandler} that handles the
+ * messages within the relay transaction.
+ * <p>
+ * Independent of the outbox, the password of the {@code User} an event has been published for is wiped from the instance as soon as the
+ * change has been committed, so that it does not linger in memory.
  *
  * @author Heiko Scherrer
  */
 @Component
-class UAAEventListener {
+class UAAEventListener implements OutboxHandler, DisposableBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UAAEventListener.class);
+    private final Duration window;
+    private final int maxPending;
+    private final ScheduledExecutorService executor;
+    private final Runnable relayAgain;
+    /** The latest event of each buffered User, by persistent key. Guarded by {@code this}. */
+    private Map<String, OutboxMessage> pending = new LinkedHashMap<>();
+    /** Whether a batch has been rejected since the buffer was processed the last time. Guarded by {@code this}. */
+    private boolean rejected;
+    private final Timer lag;
+    private final Counter coalesced;
+
+    @Autowired
+    UAAEventListener(
+            @Value("${owms.uaa.events.coalesce-window:200ms}") Duration window,
+            @Value("${owms.uaa.events.max-pending:10000}") int maxPending,
+            MeterRegistry registry,
+            ObjectProvider<OutboxRelay> relay
+    ) {
+        this(window, maxPending, registry, () -> relay.ifAvailable(OutboxRelay::trigger));
+    }
+
+    UAAEventListener(Duration window, int maxPending, MeterRegistry registry, Runnable relayAgain) {
+        this.window = window;
+        this.maxPending = maxPending;
+        this.relayAgain = relayAgain;
+        var threadFactory = new CustomizableThreadFactory("uaa-events-");
+        threadFactory.setDaemon(true);
+        var scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = scheduler;
+        Gauge.builder("owms.uaa.events.queue", this, UAAEventListener::pendingSize)
+                .description("Number of Users with events waiting to be processed").register(registry);
+        this.lag = Timer.builder("owms.uaa.events.lag")
+                .description("Time between a User change and the processing of its event").register(registry);
+        this.coalesced = Counter.builder("owms.uaa.events.coalesced")
+                .description("Events superseded by a later event of the same User before being processed").register(registry);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Buffer the events of {@code User}s and schedule their processing.
+     *
+     * @throws IllegalStateException If the buffer is full, the messages are relayed again when the buffer has been processed
+     */
+    @Override
+    public void handle(List<OutboxMessage> messages) {
+        var users = messages.stream().filter(m -> m.getEntity() == ChangeFeed.EntityType.USER).toList();
+        if (users.isEmpty()) {
+            return;
+        }
+        boolean schedule;
+        synchronized (this) {
+            if (pending.size() + users.size() > maxPending) {
+                rejected = true;
+                throw new IllegalStateException("Too many pending UserEvents [%d], try later".formatted(pending.size()));
+            }
+            schedule = pending.isEmpty();
+            for (var message : users) {
+                if (pending.remove(message.getpKey()) != null) {
+                    coalesced.increment();
+                }
+                pending.put(message.getpKey(), message);
+            }
+        }
+        if (schedule) {
+            executor.schedule(this::process, window.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
 
-    @Measured
+    /**
+     * Wipe the password of the changed {@link User} instance after the change has been committed.
+     *
+     * @param event The event
+     */
     @TransactionalEventListener
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void onPickOrderPositionSplitEvent(UserEvent event) {
-        var user = event.getSource();
-        user.wipePassword();
-        LOGGER.info("UAA UserEvent: [{}] : [{}]", event.getType(), user);
+    public void onUserEvent(UserEvent event) {
+        event.getSource().wipePassword();
+    }
+
+    private synchronized int pendingSize() {
+        return pending.size();
+    }
+
+    void process() {
+        Map<String, OutboxMessage> events;
+        boolean relay;
+        synchronized (this) {
+            events = pending;
+            pending = new LinkedHashMap<>();
+            relay = rejected;
+            rejected = false;
+        }
+        var now = new DefaultTimeProvider().nowAsZonedDateTime();
+        for (var event : events.values()) {
+            lag.record(Duration.between(event.getOccurredAt(), now));
+            LOGGER.info("UAA UserEvent: [{}] : [{}]", event.getType(), event.getName());
+        }
+        if (relay && !executor.isShutdown()) {
+            relayAgain.run();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Process what has been buffered so far and stop.
+     */
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        process();
     }
 }
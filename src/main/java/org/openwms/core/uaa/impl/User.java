@@ -41,6 +41,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -315,6 +316,18 @@ public class User extends ApplicationEntity implements Serializable {
         lastPasswordChange = new DefaultTimeProvider().nowAsZonedDateTime();
     }
 
+    /**
+     * Replace the stored password hash with a new encoding of the same password. This is not a password change, hence the password history
+     * and the date of the last password change are kept untouched.
+     *
+     * @param encodedPassword The new encoded form of the current password
+     */
+    void rehashPassword(String encodedPassword) {
+        Assert.hasText(encodedPassword, "The encoded password must not be empty");
+        persistedPassword = encodedPassword;
+        password = encodedPassword;
+    }
+
     /**
      * Checks whether the password is going to change.
      *
@@ -415,12 +428,13 @@ public class User extends ApplicationEntity implements Serializable {
     }
 
     /**
-     * Flatten {@link Role}s and {@link Grant}s and return a List of all {@link Grant}s assigned to this User.
+     * Flatten {@link Role}s and {@link Grant}s and return a List of all {@link Grant}s assigned to this User. A {@link Grant} that is
+     * assigned through more than one {@link Role} is only contained once.
      *
      * @return A list of all {@link Grant}s
      */
     public List<SecurityObject> getGrants() {
-        var grants = new ArrayList<SecurityObject>();
+        var grants = new LinkedHashSet<SecurityObject>();
         for (var role : getRoles()) {
             grants.addAll(role.getGrants());
         }
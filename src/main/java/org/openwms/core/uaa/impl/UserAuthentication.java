@@ -0,0 +1,93 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A UserAuthentication holds what is needed to authenticate and authorize an {@link User}: the password hash, the account flags and the
+ * flattened names of all {@link Grant}s the {@link User} holds through the assigned {@link Role}s. It is read with a single statement
+ * instead of loading the {@link User} with its {@link Role}s, {@link Grant}s, email addresses and password history.
+ *
+ * @param pKey The persistent key of the User
+ * @param username The username
+ * @param password The encoded password
+ * @param enabled Whether the User is enabled
+ * @param locked Whether the User is locked
+ * @param expirationDate When the account expires, may be {@literal null}
+ * @param authorities The names of all Grants the User holds
+ * @param securityObjectKeys The persistent keys of all Roles and Grants the authorities are derived from
+ * @author Heiko Scherrer
+ */
+record UserAuthentication(String pKey, String username, String password, boolean enabled, boolean locked, ZonedDateTime expirationDate,
+                          Set<String> authorities, Set<String> securityObjectKeys) {
+
+    /**
+     * One row of {@link UserRepository#findAuthenticationRows(String)}, there is one row per assigned {@link Grant} of each assigned
+     * {@link Role}.
+     */
+    interface Row {
+        String getUserKey();
+        String getUsername();
+        String getPassword();
+        Boolean getEnabled();
+        Boolean getLocked();
+        ZonedDateTime getExpirationDate();
+        String getRoleKey();
+        String getGrantKey();
+        String getGrantName();
+    }
+
+    /**
+     * Fold the rows of one {@link User} into an UserAuthentication.
+     *
+     * @param rows The rows, all of the same User
+     * @return The UserAuthentication or an empty Optional if there are no rows
+     */
+    static Optional<UserAuthentication> of(List<? extends Row> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        var authorities = new HashSet<String>();
+        var keys = new HashSet<String>();
+        for (var row : rows) {
+            if (row.getRoleKey() != null) {
+                keys.add(row.getRoleKey());
+            }
+            if (row.getGrantKey() != null) {
+                keys.add(row.getGrantKey());
+                authorities.add(row.getGrantName());
+            }
+        }
+        var first = rows.get(0);
+        return Optional.of(new UserAuthentication(first.getUserKey(), first.getUsername(), first.getPassword(),
+                Boolean.TRUE.equals(first.getEnabled()), Boolean.TRUE.equals(first.getLocked()), first.getExpirationDate(),
+                Set.copyOf(authorities), Set.copyOf(keys)));
+    }
+
+    /**
+     * Check whether the account has not expired yet.
+     *
+     * @return {@literal true} if there is no expiration date or it lies in the future
+     */
+    boolean isNonExpired() {
+        return expirationDate == null || expirationDate.isAfter(ZonedDateTime.now());
+    }
+}
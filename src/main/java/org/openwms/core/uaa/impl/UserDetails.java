@@ -15,28 +15,24 @@
  */
 package org.openwms.core.uaa.impl;
 
-import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.Lob;
 import org.openwms.core.values.CoreTypeDefinitions;
-import org.openwms.core.values.ImageProvider;
 
 import java.io.Serializable;
-import java.util.Arrays;
 import java.util.StringJoiner;
 import java.util.function.Consumer;
 
 /**
- * Detailed information about an {@link User}.
+ * Detailed information about an {@link User}. The image of an {@link User} is not part of the details, it is kept as separate
+ * {@link UserImage}.
  *
  * @author Heiko Scherrer
  */
 @Embeddable
-public class UserDetails implements ImageProvider, Serializable {
+public class UserDetails implements Serializable {
 
     /** Some descriptive text of the {@link User}. */
     @Column(name = "C_DESCRIPTION", length = CoreTypeDefinitions.DESCRIPTION_LENGTH)
@@ -56,11 +52,6 @@ public class UserDetails implements ImageProvider, Serializable {
     /** Department description assigned to the {@link User}. */
     @Column(name = "C_DEPARTMENT")
     private String department;
-    /** An image of the {@link User}. */
-    @Lob
-    @Basic(fetch = FetchType.EAGER)
-    @Column(name = "C_IMAGE")
-    private byte[] image;
     /** Gender of the {@link User}. */
     @Enumerated(EnumType.STRING)
     @Column(name = "C_GENDER")
@@ -239,38 +230,6 @@ public class UserDetails implements ImageProvider, Serializable {
         return this;
     }
 
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public byte[] getImage() {
-        if (image == null) {
-            return new byte[0];
-        }
-        return Arrays.copyOf(image, image.length);
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void setImage(byte[] img) {
-        image = img == null ? new byte[0] : Arrays.copyOf(img, img.length);
-    }
-
-    /**
-     * Supply {@code image} to the consumer {@code c} if present.
-     *
-     * @param c The consumer
-     * @return This instance
-     */
-    public UserDetails supplyImage(Consumer<byte[]> c) {
-        if (image != null) {
-            c.accept(image);
-        }
-        return this;
-    }
-
     /**
      * Return the {@link User}'s gender.
      *
@@ -311,7 +270,6 @@ public class UserDetails implements ImageProvider, Serializable {
                 .add("im='" + im + "'")
                 .add("office='" + office + "'")
                 .add("department='" + department + "'")
-                .add("image=" + Arrays.toString(image))
                 .add("gender=" + gender)
                 .toString();
     }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.ameba.annotation.Default;
+import org.ameba.integration.jpa.BaseEntity;
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.springframework.util.Assert;
+
+import java.io.InputStream;
+import java.io.ObjectStreamField;
+import java.io.Serial;
+import java.io.Serializable;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * An UserImage holds the image of an {@link User} in a separate table. It is only loaded on explicit request, so that querying
+ * {@link User}s never reads the image bytes. The image and its thumbnail are kept as {@link Blob}s, so loading an UserImage reads neither
+ * of them.
+ *
+ * @author Heiko Scherrer
+ * @see User
+ */
+@Entity
+@Table(name = "COR_UAA_USER_IMAGE",
+        uniqueConstraints = @UniqueConstraint(name = "UC_UAA_USER_IMAGE_USER", columnNames = {"C_USER_PK"}))
+public class UserImage extends BaseEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+    /** The image and thumbnail data are database locators only valid within a transaction, they are left out of Java serialization. */
+    @Serial
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("user", User.class),
+            new ObjectStreamField("size", long.class),
+            new ObjectStreamField("tag", String.class)
+    };
+    /** The {@link User} the image belongs to. */
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "C_USER_PK", nullable = false, foreignKey = @ForeignKey(name = "FK_UAA_USER_IMAGE"))
+    private User user;
+    /** The image data. */
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "C_IMAGE")
+    private Blob image;
+    /** The size of the image in bytes. */
+    @Column(name = "C_SIZE", nullable = false)
+    private long size;
+    /** A random tag that changes with each new image, used as entity tag. */
+    @Column(name = "C_TAG", nullable = false)
+    private String tag;
+    /** A scaled down copy of the image as PNG, {@literal null} if not yet created or the image could not be scaled. */
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "C_THUMBNAIL")
+    private Blob thumbnail;
+
+    /** Dear JPA... */
+    @Default
+    protected UserImage() {}
+
+    /**
+     * Create a new UserImage.
+     *
+     * @param user The User the image belongs to
+     */
+    UserImage(User user) {
+        Assert.notNull(user, "User must not be null");
+        this.user = user;
+    }
+
+    /**
+     * Return the {@link User} the image belongs to.
+     *
+     * @return The User
+     */
+    User getUser() {
+        return user;
+    }
+
+    /**
+     * Return the size of the image in bytes.
+     *
+     * @return The size
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Return the tag that identifies the current image data.
+     *
+     * @return The tag
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Read the thumbnail of the image. The thumbnail can only be read within the current transaction.
+     *
+     * @return The thumbnail as PNG or {@literal null}
+     * @throws IllegalStateException if the thumbnail cannot be read
+     */
+    byte[] getThumbnail() {
+        if (thumbnail == null) {
+            return null;
+        }
+        try {
+            return thumbnail.getBytes(1, (int) thumbnail.length());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read the thumbnail of User [%s]".formatted(user.getUsername()), e);
+        }
+    }
+
+    /**
+     * Set the thumbnail of the current image.
+     *
+     * @param thumbnail The thumbnail as PNG or {@literal null}
+     */
+    void setThumbnail(byte[] thumbnail) {
+        this.thumbnail = thumbnail == null ? null : BlobProxy.generateProxy(thumbnail);
+    }
+
+    /**
+     * Replace the image data.
+     *
+     * @param data The new image data
+     */
+    void setImage(byte[] data) {
+        Assert.notNull(data, "Image data must not be null");
+        this.image = BlobProxy.generateProxy(data);
+        this.size = data.length;
+        this.tag = UUID.randomUUID().toString();
+        this.thumbnail = null;
+    }
+
+    /**
+     * Replace the image data with the content of a stream. The stream is read when the entity is flushed, not before.
+     *
+     * @param data The stream to read the new image data from
+     * @param length The number of bytes to read from the stream
+     */
+    void setImage(InputStream data, long length) {
+        Assert.notNull(data, "Image data must not be null");
+        this.image = BlobProxy.generateProxy(data, length);
+        this.size = length;
+        this.tag = UUID.randomUUID().toString();
+        this.thumbnail = null;
+    }
+
+    /**
+     * Open a stream on a part of the image data. The stream is only valid within the current transaction.
+     *
+     * @param offset The position of the first byte to read, starting with 0
+     * @param length The number of bytes to read
+     * @return The stream
+     * @throws IllegalStateException if the image cannot be read
+     */
+    InputStream openStream(long offset, long length) {
+        if (image == null || length == 0) {
+            return InputStream.nullInputStream();
+        }
+        try {
+            return image.getBinaryStream(offset + 1, length);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot read the image of User [%s]".formatted(user.getUsername()), e);
+        }
+    }
+}
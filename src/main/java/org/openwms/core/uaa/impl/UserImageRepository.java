@@ -0,0 +1,44 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An UserImageRepository offers functionality regarding {@link UserImage} entity classes.
+ *
+ * @author Heiko Scherrer
+ */
+interface UserImageRepository extends JpaRepository<UserImage, Long> {
+
+    @Query("select i from UserImage i where i.user.pKey = :pKey")
+    Optional<UserImage> findByUserPKey(@Param("pKey") String pKey);
+
+    @Query("""
+            select new org.openwms.core.uaa.impl.ImageTagView(i.user.pKey, i.tag)
+            from UserImage i
+            where i.user.pKey in :userKeys
+            """)
+    List<ImageTagView> findImageTagsOf(@Param("userKeys") Collection<String> userKeys);
+
+    void deleteByUser(User user);
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.ameba.i18n.Translator;
+import org.hibernate.Session;
+import org.openwms.core.uaa.UserImportResult;
+import org.openwms.core.uaa.UserMapper;
+import org.openwms.core.uaa.api.UserVO;
+import org.openwms.core.uaa.api.ValidationGroups;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.openwms.core.uaa.MessageCodes.USER_ALREADY_EXISTS;
+import static org.openwms.core.uaa.MessageCodes.USER_IMPORT_CONFLICT;
+import static org.openwms.core.uaa.MessageCodes.USER_IMPORT_FAILED;
+import static org.openwms.core.uaa.MessageCodes.USER_IMPORT_MALFORMED;
+
+/**
+ * A UserImporter creates a large number of {@link User}s from a stream. Users are processed in chunks, each chunk in its own transaction:
+ * <ul>
+ *     <li>Existing usernames and the assigned {@link Role}s are looked up with one query per chunk</li>
+ *     <li>Users and their {@link Email}s are inserted with Hibernate JDBC batching, all Users before all Emails so that batches are not
+ *     interrupted</li>
+ *     <li>The Role assignments are inserted into the join table with one JDBC batch</li>
+ * </ul>
+ * Users that already exist are skipped, so an aborted import can be repeated. Invalid Users, lines that cannot be read and the Users of a
+ * chunk that failed to store are rejected and reported, they do not abort the import.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class UserImporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserImporter.class);
+    private final int batchSize;
+    private final EntityManager em;
+    private final UserRepository repository;
+    private final RoleRepository roleRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate txTemplate;
+    private final UserMapper userMapper;
+    private final Validator validator;
+    private final Translator translator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    UserImporter(
+            @Value("${owms.uaa.import.batch-size:500}") int batchSize,
+            EntityManager em,
+            UserRepository repository,
+            RoleRepository roleRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            UserMapper userMapper,
+            Validator validator,
+            Translator translator,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.batchSize = batchSize;
+        this.em = em;
+        this.repository = repository;
+        this.roleRepository = roleRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.txTemplate = new TransactionTemplate(transactionManager);
+        this.userMapper = userMapper;
+        this.validator = validator;
+        this.translator = translator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /*
+     * Either the User read at the position or why it could not be read.
+     */
+    private record Row(long position, UserVO vo, String malformed) {
+    }
+
+    private static final class Progress {
+        private final Set<String> seen = new HashSet<>();
+        private final List<UserImportResult.Failure> failures = new ArrayList<>();
+        private int created;
+        private int skipped;
+        private int failed;
+
+        void fail(Row row, String message) {
+            failed++;
+            if (failures.size() < UserImportResult.MAX_FAILURES) {
+                failures.add(new UserImportResult.Failure(row.position(), row.vo() == null ? null : row.vo().getUsername(), message));
+            }
+        }
+
+        UserImportResult toResult() {
+            return new UserImportResult(created, skipped, failed, List.copyOf(failures));
+        }
+    }
+
+    /**
+     * Import all {@link User}s the iterator provides. The import must not run within a transaction.
+     *
+     * @param users The Users to import, consumed chunk by chunk. An {@link IllegalArgumentException} thrown by {@link Iterator#next()}
+     * rejects the element that could not be read, the import continues with the next one
+     * @return The result
+     */
+    UserImportResult importUsers(Iterator<UserVO> users) {
+        var progress = new Progress();
+        var chunk = new ArrayList<Row>(batchSize);
+        long position = 0;
+        while (users.hasNext()) {
+            try {
+                chunk.add(new Row(++position, users.next(), null));
+            } catch (IllegalArgumentException e) {
+                chunk.add(new Row(position, null, translator.translate(USER_IMPORT_MALFORMED, e.getMessage())));
+            }
+            if (chunk.size() == batchSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+        var result = progress.toResult();
+        LOGGER.info("Imported Users: [{}] created, [{}] skipped, [{}] failed", result.created(), result.skipped(), result.failed());
+        return result;
+    }
+
+    private void importChunk(List<Row> chunk, Progress progress) {
+        var valid = new ArrayList<Row>(chunk.size());
+        for (var row : chunk) {
+            if (row.malformed() != null) {
+                progress.fail(row, row.malformed());
+                continue;
+            }
+            var violations = validator.validate(row.vo(), ValidationGroups.Create.class);
+            if (!violations.isEmpty()) {
+                progress.fail(row, violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage()).sorted()
+                        .collect(Collectors.joining(", ")));
+            } else if (!progress.seen.add(row.vo().getUsername())) {
+                progress.fail(row, translator.translate(USER_ALREADY_EXISTS, row.vo().getUsername()));
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            var counts = txTemplate.execute(status -> insert(valid));
+            progress.created += counts[0];
+            progress.skipped += counts[1];
+        } catch (RuntimeException e) {
+            LOGGER.warn("Importing a chunk of [{}] Users failed: [{}]", valid.size(), e.getMessage());
+            var code = e instanceof DataIntegrityViolationException ? USER_IMPORT_CONFLICT : USER_IMPORT_FAILED;
+            valid.forEach(row -> progress.fail(row, translator.translate(code, row.vo().getUsername())));
+        }
+    }
+
+    /*
+     * Returns the number of created and of skipped Users.
+     */
+    private int[] insert(List<Row> rows) {
+        em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        var existing = new HashSet<>(repository.findUsernamesIn(rows.stream().map(r -> r.vo().getUsername()).toList()));
+        var roleNames = rows.stream().map(r -> r.vo().getRoleNames()).filter(Objects::nonNull).flatMap(List::stream).distinct().toList();
+        var roles = roleNames.isEmpty()
+                ? Map.<String, Long>of()
+                : roleRepository.findByNameIn(roleNames).stream().collect(Collectors.toMap(Role::getName, Role::getPk));
+
+        var created = new ArrayList<Map.Entry<User, Set<Email>>>(rows.size());
+        var assignments = new ArrayList<Object[]>();
+        for (var row : rows) {
+            if (existing.contains(row.vo().getUsername())) {
+                continue;
+            }
+            var user = userMapper.convertFrom(row.vo());
+            var emails = user.getEmailAddresses() == null ? Set.<Email>of() : user.getEmailAddresses();
+            user.setEmailAddresses(new HashSet<>());
+            em.persist(user);
+            created.add(Map.entry(user, emails));
+            if (row.vo().getRoleNames() != null) {
+                row.vo().getRoleNames().stream().distinct().map(roles::get).filter(Objects::nonNull)
+                        .forEach(rolePk -> assignments.add(new Object[]{rolePk, user.getPk()}));
+            }
+        }
+        for (var entry : created) {
+            entry.getValue().forEach(email -> {
+                entry.getKey().addNewEmailAddress(email);
+                em.persist(email);
+            });
+        }
+        em.flush();
+        if (!assignments.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) values (?, ?)", assignments);
+        }
+        created.forEach(entry -> eventPublisher.publishEvent(new UserEvent(entry.getKey(), UserEvent.EventType.CREATED)));
+        em.clear();
+        return new int[]{created.size(), rows.size() - created.size()};
+    }
+}
@@ -15,9 +15,19 @@
  */
 package org.openwms.core.uaa.impl;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * An UserRepository offers functionality regarding {@link User} entity classes.
@@ -28,5 +38,126 @@ interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findBypKey(String pKey);
 
+    @Query("select u.username from User u where u.pKey = :pKey")
+    Optional<String> findUsernameBypKey(@Param("pKey") String pKey);
+
     Optional<User> findByUsername(String username);
+
+    List<User> findBypKeyIn(Collection<String> pKeys);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EntityStreamer.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from User u order by u.pk")
+    Stream<User> streamAll();
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findUsernamesIn(@Param("usernames") Collection<String> usernames);
+
+    @Query("""
+            select new org.openwms.core.uaa.impl.UserSummary(u.pKey, u.username, u.fullname, u.enabled, u.locked)
+            from User u
+            where u.username in :usernames
+            """)
+    List<UserSummary> findSummariesOf(@Param("usernames") Collection<String> usernames);
+
+    @Query("""
+            select new org.openwms.core.uaa.impl.UserView(u.pKey, u.ol, u.username, u.extern, u.lastPasswordChange, u.locked, u.enabled,
+                   u.expirationDate, u.fullname, u.userDetails)
+            from User u
+            where u.pKey = :pKey
+            """)
+    Optional<UserView> findViewBypKey(@Param("pKey") String pKey);
+
+    @Query("""
+            select new org.openwms.core.uaa.impl.EmailView(e.user.pKey, e.emailAddress, e.primary, e.fullname)
+            from Email e
+            where e.user.pKey in :userKeys
+            """)
+    List<EmailView> findEmailViewsOf(@Param("userKeys") Collection<String> userKeys);
+
+    @Query("""
+            select new org.openwms.core.uaa.impl.RoleNameView(u.pKey, r.name)
+            from Role r join r.users u
+            where u.pKey in :userKeys
+            order by r.name
+            """)
+    List<RoleNameView> findRoleNamesOf(@Param("userKeys") Collection<String> userKeys);
+
+    /**
+     * Find the credentials, account flags and the assigned {@code Role}s and {@code Grant}s of an {@link User} with one statement, one row
+     * per {@code Grant} of each {@code Role}.
+     *
+     * @param username The username
+     * @return The rows, empty if no such User exists
+     */
+    @Query("""
+            select u.pKey as userKey, u.username as username, u.password as password, u.enabled as enabled, u.locked as locked,
+                   u.expirationDate as expirationDate, r.pKey as roleKey, g.pKey as grantKey, g.name as grantName
+            from User u left join u.roles r left join r.grants g
+            where u.username = :username
+            """)
+    List<UserAuthentication.Row> findAuthenticationRows(@Param("username") String username);
+
+    /**
+     * Find what is needed to authenticate and authorize an {@link User} with one statement.
+     *
+     * @param username The username
+     * @return The UserAuthentication or an empty Optional if no such User exists
+     */
+    default Optional<UserAuthentication> findAuthentication(String username) {
+        return UserAuthentication.of(findAuthenticationRows(username));
+    }
+
+    /**
+     * Find a slice of {@link User}s matching all given criteria, a criterion that is {@literal null} is not applied. No count query is
+     * issued, the slice only knows whether more {@link User}s follow.
+     *
+     * @param usernamePattern A {@code LIKE} pattern the username must match, escaped with {@code !}
+     * @param enabled The enabled flag
+     * @param locked The locked flag
+     * @param role The name of a Role the User must be assigned to
+     * @param after Only Users with a username greater than this one (keyset)
+     * @param pageable Page and sort order
+     * @return The slice
+     */
+    @Query("""
+            select u from User u
+            where (:usernamePattern is null or u.username like :usernamePattern escape '!')
+            and (:enabled is null or u.enabled = :enabled)
+            and (:locked is null or u.locked = :locked)
+            and (:role is null or exists (select r from Role r join r.users ru where ru = u and r.name = :role))
+            and (:after is null or u.username > :after)
+            """)
+    Slice<User> findAllBy(
+            @Param("usernamePattern") String usernamePattern,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("role") String role,
+            @Param("after") String after,
+            Pageable pageable
+    );
+
+    /**
+     * Same as {@link #findAllBy(String, Boolean, Boolean, String, String, Pageable)} but only read the columns of an {@link UserView}.
+     */
+    @Query("""
+            select new org.openwms.core.uaa.impl.UserView(u.pKey, u.ol, u.username, u.extern, u.lastPasswordChange, u.locked, u.enabled,
+                   u.expirationDate, u.fullname, u.userDetails)
+            from User u
+            where (:usernamePattern is null or u.username like :usernamePattern escape '!')
+            and (:enabled is null or u.enabled = :enabled)
+            and (:locked is null or u.locked = :locked)
+            and (:role is null or exists (select r from Role r join r.users ru where ru = u and r.name = :role))
+            and (:after is null or u.username > :after)
+            """)
+    Slice<UserView> findAllViewsBy(
+            @Param("usernamePattern") String usernamePattern,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("role") String role,
+            @Param("after") String after,
+            Pageable pageable
+    );
 }
\ No newline at end of file
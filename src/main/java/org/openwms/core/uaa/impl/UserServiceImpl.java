@@ -24,8 +24,11 @@ import org.ameba.annotation.TxService;
 import org.ameba.exception.NotFoundException;
 import org.ameba.exception.ResourceExistsException;
 import org.ameba.i18n.Translator;
+import org.openwms.core.uaa.GrantService;
 import org.openwms.core.uaa.InvalidPasswordException;
 import org.openwms.core.uaa.RoleService;
+import org.openwms.core.uaa.UserFilter;
+import org.openwms.core.uaa.UserImportResult;
 import org.openwms.core.uaa.UserMapper;
 import org.openwms.core.uaa.UserService;
 import org.openwms.core.uaa.api.UserVO;
@@ -35,19 +38,36 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.plugin.core.PluginRegistry;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.Assert;
 import org.springframework.validation.annotation.Validated;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.ameba.system.ValidationUtil.validate;
 import static org.openwms.core.uaa.MessageCodes.USER_ALREADY_EXISTS;
+import static org.openwms.core.uaa.MessageCodes.USER_IMAGE_NOT_EXIST;
 import static org.openwms.core.uaa.MessageCodes.USER_SAVE_NOT_BE_NULL;
 import static org.openwms.core.uaa.MessageCodes.USER_WITH_PKEY_NOT_EXIST;
 import static org.openwms.core.uaa.MessageCodes.USER_WITH_PK_NOT_EXIST;
@@ -65,31 +85,53 @@ import static org.openwms.core.uaa.MessageCodes.USER_WITH_PK_NOT_EXIST;
 class UserServiceImpl implements UserService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final Set<String> SORTABLE = Set.of("username", "fullname", "enabled", "locked", "expirationDate");
+    /** Number of Users read with each slice of an export. */
+    private static final int EXPORT_SLICE_SIZE = 500;
     private final UserRepository repository;
+    private final UserImageRepository imageRepository;
+    private final UserThumbnails thumbnails;
+    private final UserImporter importer;
     private final GrantRepository securityObjectDao;
     private final RoleService roleService;
+    private final GrantService grantService;
     private final PasswordEncoder enc;
     private final Translator translator;
     private final Validator validator;
     private final UserMapper userMapper;
     private final PluginRegistry<UserUpdater, String> userUpdater;
     private final ApplicationEventPublisher eventPublisher;
+    private final CredentialCache credentialCache;
+    private final PasswordRehasher passwordRehasher;
+    private final EntityStreamer entityStreamer;
     private final String systemUsername;
     private final String systemPassword;
+    private final Object systemUserLock = new Object();
+    /** The prebuilt SystemUser, kept until a Grant is created. */
+    private SystemUser systemUser;
 
-    UserServiceImpl(UserRepository repository, GrantRepository securityObjectDao, @Lazy RoleService roleService,
-            PasswordEncoder enc, Translator translator, Validator validator, UserMapper userMapper,
-            PluginRegistry<UserUpdater, String> userUpdater, ApplicationEventPublisher eventPublisher, @Value("${owms.security.system.username}") String systemUsername,
+    UserServiceImpl(UserRepository repository, UserImageRepository imageRepository, UserThumbnails thumbnails, UserImporter importer,
+            GrantRepository securityObjectDao, @Lazy RoleService roleService, @Lazy GrantService grantService, PasswordEncoder enc,
+            Translator translator, Validator validator, UserMapper userMapper,
+            PluginRegistry<UserUpdater, String> userUpdater, ApplicationEventPublisher eventPublisher, CredentialCache credentialCache,
+            PasswordHashingExecutor hashingExecutor, PasswordRehasher passwordRehasher, EntityStreamer entityStreamer, @Value("${owms.security.system.username}") String systemUsername,
             @Value("${owms.security.system.password}") String systemPassword) {
         this.repository = repository;
+        this.imageRepository = imageRepository;
+        this.thumbnails = thumbnails;
+        this.importer = importer;
         this.securityObjectDao = securityObjectDao;
         this.roleService = roleService;
-        this.enc = enc;
+        this.grantService = grantService;
+        this.enc = hashingExecutor.decorate(enc);
         this.translator = translator;
         this.validator = validator;
         this.userMapper = userMapper;
         this.userUpdater = userUpdater;
         this.eventPublisher = eventPublisher;
+        this.credentialCache = credentialCache;
+        this.passwordRehasher = passwordRehasher;
+        this.entityStreamer = entityStreamer;
         this.systemUsername = systemUsername;
         this.systemPassword = systemPassword;
     }
@@ -102,6 +144,8 @@ class UserServiceImpl implements UserService {
     @Measured
     public @NotNull User save(@NotNull(groups = ValidationGroups.Modify.class) @Valid User user, List<String> roleNames) {
         var existingUser = findByPKeyInternal(user.getPersistentKey());
+        var wasLocked = existingUser.isLocked();
+        var wasEnabled = existingUser.isEnabled();
         for (var updater : userUpdater.getPlugins()) {
             existingUser = updater.update(existingUser, user);
         }
@@ -112,6 +156,12 @@ class UserServiceImpl implements UserService {
         }
         var saved = repository.save(existingUser);
         eventPublisher.publishEvent(new UserEvent(saved, UserEvent.EventType.MODIFIED));
+        if (!wasLocked && saved.isLocked()) {
+            eventPublisher.publishEvent(new UserEvent(saved, UserEvent.EventType.LOCKED));
+        }
+        if (wasEnabled && !saved.isEnabled()) {
+            eventPublisher.publishEvent(new UserEvent(saved, UserEvent.EventType.DISABLED));
+        }
         return saved;
     }
 
@@ -122,8 +172,80 @@ class UserServiceImpl implements UserService {
     @Measured
     public void uploadImageFile(@NotBlank String pKey, @NotNull byte[] image) {
         var user = findByPKeyInternal(pKey);
-        user.getUserDetails().setImage(image);
-        saveInternal(user);
+        var userImage = imageRepository.findByUserPKey(pKey).orElseGet(() -> new UserImage(user));
+        userImage.setImage(image);
+        imageRepository.save(userImage);
+        thumbnails.createAfterCommit(pKey);
+        eventPublisher.publishEvent(new UserEvent(user, UserEvent.EventType.MODIFIED));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public @NotNull UserImage uploadImage(@NotBlank String pKey, @NotNull InputStream image, long length) {
+        var user = findByPKeyInternal(pKey);
+        var userImage = imageRepository.findByUserPKey(pKey).orElseGet(() -> new UserImage(user));
+        userImage.setImage(image, length);
+        userImage = imageRepository.save(userImage);
+        thumbnails.createAfterCommit(pKey);
+        eventPublisher.publishEvent(new UserEvent(user, UserEvent.EventType.MODIFIED));
+        return userImage;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Measured
+    public @NotNull UserImage findImage(@NotBlank String pKey) {
+        return findImageInternal(pKey);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Measured
+    public void writeImage(@NotBlank String pKey, long offset, long length, @NotNull OutputStream out) throws IOException {
+        try (var in = findImageInternal(pKey).openStream(offset, length)) {
+            in.transferTo(out);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Thumbnails are served from a cache, no transaction is started for it.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Measured
+    public Optional<UserThumbnail> findThumbnail(@NotBlank String pKey, String tag) {
+        return thumbnails.find(pKey, tag);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull Map<String, String> findImageTags(@NotNull Collection<String> pKeys) {
+        if (pKeys.isEmpty()) {
+            return Map.of();
+        }
+        return imageRepository.findImageTagsOf(pKeys).stream().collect(Collectors.toMap(ImageTagView::userKey, ImageTagView::tag));
+    }
+
+    private UserImage findImageInternal(String pKey) {
+        return imageRepository.findByUserPKey(pKey).orElseThrow(() -> {
+            findByPKeyInternal(pKey);
+            return new NotFoundException(translator.translate(USER_IMAGE_NOT_EXIST, pKey), USER_IMAGE_NOT_EXIST, pKey);
+        });
     }
 
     /**
@@ -136,10 +258,14 @@ class UserServiceImpl implements UserService {
     }
 
     private User saveInternal(User entity) {
+        return saveInternal(entity, UserEvent.EventType.MODIFIED);
+    }
+
+    private User saveInternal(User entity, UserEvent.EventType eventType) {
         Assert.notNull(entity, translator.translate(USER_SAVE_NOT_BE_NULL));
         validate(validator, entity, ValidationGroups.Modify.class);
         var saved = repository.save(entity);
-        eventPublisher.publishEvent(new UserEvent(saved, UserEvent.EventType.MODIFIED));
+        eventPublisher.publishEvent(new UserEvent(saved, eventType));
         return saved;
     }
 
@@ -152,11 +278,30 @@ class UserServiceImpl implements UserService {
     @Transactional(readOnly = true)
     @Measured
     public @NotNull SystemUser createSystemUser() {
-        var sys = new SystemUser(systemUsername, systemPassword);
-        var role = new Role.Builder(SystemUser.SYSTEM_ROLE_NAME).withDescription("Superusers Role").asImmutable().build();
-        role.setGrants(new HashSet<>(securityObjectDao.findAll()));
-        sys.addRole(role);
-        return sys;
+        synchronized (systemUserLock) {
+            if (systemUser == null) {
+                var sys = new SystemUser(systemUsername, systemPassword);
+                var role = new Role.Builder(SystemUser.SYSTEM_ROLE_NAME).withDescription("Superusers Role").asImmutable().build();
+                role.setGrants(new HashSet<>(securityObjectDao.findAll()));
+                sys.addRole(role);
+                systemUser = sys;
+            }
+            return systemUser;
+        }
+    }
+
+    /**
+     * Drop the prebuilt {@link SystemUser} after a new {@code Grant} has been committed, so that the next call to
+     * {@link #createSystemUser()} assigns all {@code Grant}s again.
+     *
+     * @param event The event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onGrantEvent(GrantEvent event) {
+        synchronized (systemUserLock) {
+            systemUser = null;
+        }
     }
 
     /**
@@ -189,6 +334,53 @@ class UserServiceImpl implements UserService {
      */
     @Override
     @Measured
+    @Transactional(readOnly = true)
+    public long exportAll(@NotNull Consumer<User> consumer) {
+        return entityStreamer.forEach(repository.streamAll(), consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each slice continues after the last username of the previous one, so the number of statements grows with the number of slices only.
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public long exportAllVOs(@NotNull Consumer<UserVO> consumer) {
+        var count = 0L;
+        String after = null;
+        Slice<UserView> slice;
+        do {
+            slice = repository.findAllViewsBy(null, null, null, null, after, PageRequest.of(0, EXPORT_SLICE_SIZE, Sort.by("username")));
+            var vos = toVOs(slice.getContent());
+            vos.forEach(consumer);
+            count += vos.size();
+            if (!vos.isEmpty()) {
+                after = vos.get(vos.size() - 1).getUsername();
+            }
+        } while (slice.hasNext());
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Runs without a surrounding transaction, each chunk of Users is committed on its own.
+     */
+    @Override
+    @Measured
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public @NotNull UserImportResult importUsers(@NotNull Iterator<UserVO> users) {
+        return importer.importUsers(users);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
     public @NotNull Optional<User> findByUsername(@NotBlank String username) {
         return repository.findByUsername(username);
     }
@@ -202,6 +394,23 @@ class UserServiceImpl implements UserService {
         return findByPKeyInternal(pKey);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Only the username is read, the Grants are resolved from the authority snapshot of the {@code User}.
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull List<Grant> findGrants(@NotBlank String pKey) {
+        var username = repository.findUsernameBypKey(pKey).orElseThrow(() -> new NotFoundException(
+                translator.translate(USER_WITH_PKEY_NOT_EXIST, pKey),
+                USER_WITH_PKEY_NOT_EXIST,
+                pKey
+        ));
+        return grantService.findAllFor(username);
+    }
+
     private User findByPKeyInternal(String pKey) {
         return repository.findBypKey(pKey).orElseThrow(() -> new NotFoundException(
                 translator.translate(USER_WITH_PKEY_NOT_EXIST, pKey),
@@ -218,6 +427,7 @@ class UserServiceImpl implements UserService {
     public void delete(@NotBlank String pKey) {
         var existing = repository.findBypKey(pKey);
         if (existing.isPresent()) {
+            imageRepository.deleteByUser(existing.get());
             repository.delete(existing.get());
             eventPublisher.publishEvent(new UserEvent(existing.get(), UserEvent.EventType.DELETED));
         }
@@ -225,9 +435,13 @@ class UserServiceImpl implements UserService {
 
     /**
      * {@inheritDoc}
+     * <p>
+     * Recently verified credentials are taken from the {@link CredentialCache} if enabled. An outdated password encoding is re-encoded
+     * asynchronously after a successful verification.
      */
     @Override
     @Measured
+    @Transactional(readOnly = true)
     public @NotNull Optional<User> findByUsernameAndPassword(@NotBlank String username, @NotBlank String password) {
         var userOpt = repository.findByUsername(username);
         if (userOpt.isEmpty()) {
@@ -235,7 +449,9 @@ class UserServiceImpl implements UserService {
         }
         
         var user = userOpt.get();
-        if (enc.matches(password, user.getPassword())) {
+        var storedHash = user.getPassword();
+        if (credentialCache.verify(username, password, storedHash, () -> enc.matches(password, storedHash))) {
+            passwordRehasher.rehashIfNeeded(username, password, storedHash);
             return Optional.of(user);
         }
         
@@ -250,7 +466,7 @@ class UserServiceImpl implements UserService {
     public @NotNull UserVO updatePassword(@NotBlank String pKey, @NotNull CharSequence newPassword) throws InvalidPasswordException {
         var saved = findByPKey(pKey);
         saved.changePassword(enc.encode(newPassword), newPassword.toString(), enc);
-        saveInternal(saved);
+        saveInternal(saved, UserEvent.EventType.PASSWORD_CHANGED);
         return userMapper.convertToVO(saved);
     }
 
@@ -263,6 +479,74 @@ class UserServiceImpl implements UserService {
         return repository.findAll();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    public @NotNull Slice<User> findAll(@NotNull UserFilter filter, @NotNull Pageable pageable) {
+        return repository.findAllBy(filter.usernamePattern(), filter.enabled(), filter.locked(), filter.role(), filter.after(),
+                pageRequestOf(filter, pageable));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull Slice<UserVO> findAllVOs(@NotNull UserFilter filter, @NotNull Pageable pageable) {
+        var views = repository.findAllViewsBy(filter.usernamePattern(), filter.enabled(), filter.locked(), filter.role(), filter.after(),
+                pageRequestOf(filter, pageable));
+        return new SliceImpl<>(toVOs(views.getContent()), views.getPageable(), views.hasNext());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Measured
+    @Transactional(readOnly = true)
+    public @NotNull UserVO findVOByPKey(@NotBlank String pKey) {
+        var view = repository.findViewBypKey(pKey).orElseThrow(() -> new NotFoundException(
+                translator.translate(USER_WITH_PKEY_NOT_EXIST, pKey),
+                USER_WITH_PKEY_NOT_EXIST,
+                pKey
+        ));
+        return toVOs(List.of(view)).get(0);
+    }
+
+    private Pageable pageRequestOf(UserFilter filter, Pageable pageable) {
+        var sort = filter.after() == null
+                ? Sort.by(pageable.getSort().filter(o -> SORTABLE.contains(o.getProperty())).toList())
+                : Sort.unsorted();
+        if (sort.getOrderFor("username") == null) {
+            sort = sort.and(Sort.by("username"));
+        }
+        if (pageable.isUnpaged()) {
+            return Pageable.unpaged(sort);
+        }
+        return PageRequest.of(filter.after() == null ? pageable.getPageNumber() : 0, pageable.getPageSize(), sort);
+    }
+
+    /* Email addresses and role names are read with one statement each for the whole page instead of per User. */
+    private List<UserVO> toVOs(List<UserView> views) {
+        if (views.isEmpty()) {
+            return List.of();
+        }
+        var keys = views.stream().map(UserView::pKey).toList();
+        var emails = repository.findEmailViewsOf(keys).stream()
+                .collect(Collectors.groupingBy(EmailView::userKey, Collectors.mapping(userMapper::convertEmailViewToVO, Collectors.toList())));
+        var roleNames = repository.findRoleNamesOf(keys).stream()
+                .collect(Collectors.groupingBy(RoleNameView::userKey, Collectors.mapping(RoleNameView::name, Collectors.toList())));
+        return views.stream().map(view -> {
+            var vo = userMapper.convertViewToVO(view);
+            vo.setEmailAddresses(emails.getOrDefault(view.pKey(), new ArrayList<>()));
+            vo.setRoleNames(roleNames.getOrDefault(view.pKey(), new ArrayList<>()));
+            return vo;
+        }).toList();
+    }
+
     /**
      * {@inheritDoc}
      */
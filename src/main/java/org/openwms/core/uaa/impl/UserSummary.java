@@ -0,0 +1,30 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+/**
+ * A UserSummary is a lightweight, read-only view on an {@link User} that is queried without loading the {@link User} entity and its
+ * associations.
+ *
+ * @param pKey The persistent key of the User
+ * @param username The username
+ * @param fullname The full name
+ * @param enabled Whether the User is enabled
+ * @param locked Whether the User is locked
+ * @author Heiko Scherrer
+ */
+public record UserSummary(String pKey, String username, String fullname, boolean enabled, boolean locked) {
+}
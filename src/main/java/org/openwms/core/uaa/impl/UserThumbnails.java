@@ -0,0 +1,224 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An UserThumbnails component creates the thumbnail of an {@link UserImage} when a new image has been stored and keeps recently requested
+ * thumbnails in a size-limited LRU cache, keyed by the persistent key of the {@link User} and the tag of the image the thumbnail has been
+ * created from. The absence of a thumbnail is cached as well, so that list screens do not hit the database for {@link User}s without image.
+ * <p>
+ * The cache is local to each instance. Images stored or deleted through this instance update the cache immediately. Requests that name the
+ * tag of a new image stored through another instance miss the cache, requests without tag see the new image once the cached entry has
+ * expired after {@code owms.uaa.image.thumbnail-cache-ttl}.
+ *
+ * @author Heiko Scherrer
+ */
+@Component
+class UserThumbnails implements ApplicationListener<UserEvent> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserThumbnails.class);
+    private final int size;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final UserImageRepository repository;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate readTemplate;
+    private final Map<Key, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    UserThumbnails(
+            @Value("${owms.uaa.image.thumbnail-size:64}") int size,
+            @Value("${owms.uaa.image.thumbnail-cache-size:1000}") int maxSize,
+            @Value("${owms.uaa.image.thumbnail-cache-ttl:60s}") Duration ttl,
+            UserImageRepository repository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry
+    ) {
+        this.size = size;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.repository = repository;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > UserThumbnails.this.maxSize;
+            }
+        };
+        this.hits = Counter.builder("owms.uaa.image.thumbnail.cache").tag("result", "hit")
+                .description("Thumbnail requests answered from the thumbnail cache").register(registry);
+        this.misses = Counter.builder("owms.uaa.image.thumbnail.cache").tag("result", "miss")
+                .description("Thumbnail requests that required a database lookup").register(registry);
+    }
+
+    /*
+     * The key of a cached thumbnail, without tag for the thumbnail of the current image.
+     */
+    private record Key(String pKey, String tag) {
+    }
+
+    /*
+     * A cached thumbnail, or the absence of it, and when it expires in terms of System.nanoTime.
+     */
+    private record Entry(Optional<UserThumbnail> thumbnail, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Drop the cached thumbnail of a deleted {@link User}.
+     */
+    @Override
+    public void onApplicationEvent(UserEvent event) {
+        if (event.getType() == UserEvent.EventType.DELETED && event.getSource().getPersistentKey() != null) {
+            evict(event.getSource().getPersistentKey());
+        }
+    }
+
+    /**
+     * Find the thumbnail of the image of an {@link User}, from the cache if possible.
+     *
+     * @param pKey The persistent key of the User
+     * @param tag The tag of the image the thumbnail is requested for, or {@literal null} for the current image
+     * @return The thumbnail of the current image or an empty Optional if the User has no image or the image could not be scaled
+     */
+    Optional<UserThumbnail> find(String pKey, String tag) {
+        var key = new Key(pKey, tag);
+        synchronized (entries) {
+            var cached = entries.get(key);
+            if (cached != null && !cached.isExpired(System.nanoTime())) {
+                hits.increment();
+                return cached.thumbnail();
+            }
+        }
+        misses.increment();
+        var loaded = readTemplate.execute(status -> repository.findByUserPKey(pKey)
+                .flatMap(image -> Optional.ofNullable(image.getThumbnail()).map(data -> new UserThumbnail(image.getTag(), data))));
+        synchronized (entries) {
+            // A requested tag that is not the current one is not cached, it would hide the current thumbnail until expired
+            if (tag == null || loaded.map(t -> t.tag().equals(tag)).orElse(false)) {
+                putIfExpired(key, loaded);
+            }
+            loaded.ifPresent(t -> putIfExpired(new Key(pKey, t.tag()), loaded));
+        }
+        return loaded;
+    }
+
+    /**
+     * Create the thumbnail of the image of an {@link User} after the current transaction has been committed, or immediately if no
+     * transaction is active.
+     *
+     * @param pKey The persistent key of the User
+     */
+    void createAfterCommit(String pKey) {
+        evict(pKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    create(pKey);
+                }
+            });
+        } else {
+            create(pKey);
+        }
+    }
+
+    /**
+     * Create and store the thumbnail of the image of an {@link User}. Failures are logged and the image is kept without thumbnail.
+     *
+     * @param pKey The persistent key of the User
+     */
+    void create(String pKey) {
+        try {
+            var created = writeTemplate.execute(status -> repository.findByUserPKey(pKey).map(image -> {
+                var data = scale(image);
+                image.setThumbnail(data);
+                return data == null ? null : new UserThumbnail(image.getTag(), data);
+            }));
+            synchronized (entries) {
+                put(new Key(pKey, null), created);
+                created.ifPresent(t -> put(new Key(pKey, t.tag()), created));
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Creating the thumbnail of the image of User [{}] failed: [{}]", pKey, e.getMessage());
+            evict(pKey);
+        }
+    }
+
+    private byte[] scale(UserImage image) {
+        try (var in = image.openStream(0, image.getSize())) {
+            var thumbnail = ImageScaler.thumbnail(in, size);
+            if (thumbnail == null) {
+                LOGGER.debug("The image of User [{}] is no readable image, no thumbnail created", image.getUser().getPersistentKey());
+            }
+            return thumbnail;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Must be called while holding the lock on the entries.
+     */
+    private void put(Key key, Optional<UserThumbnail> thumbnail) {
+        entries.put(key, new Entry(thumbnail, System.nanoTime() + ttlNanos));
+    }
+
+    /*
+     * Must be called while holding the lock on the entries.
+     */
+    private void putIfExpired(Key key, Optional<UserThumbnail> thumbnail) {
+        var cached = entries.get(key);
+        if (cached == null || cached.isExpired(System.nanoTime())) {
+            put(key, thumbnail);
+        }
+    }
+
+    private void evict(String pKey) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.pKey().equals(pKey));
+        }
+    }
+}
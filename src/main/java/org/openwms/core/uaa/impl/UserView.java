@@ -0,0 +1,39 @@
+/*
+ * Copyright 2005-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.uaa.impl;
+
+import java.time.ZonedDateTime;
+
+/**
+ * An UserView is a read-only view on the columns of an {@link User} that make up its value object. It is queried without loading the
+ * {@link User} entity, so nothing is kept in the persistence context and nothing is dirty checked. Email addresses and role names are
+ * queried separately for all views of a page, see {@link EmailView} and {@link RoleNameView}.
+ *
+ * @param pKey The persistent key of the User
+ * @param ol The optimistic locking version
+ * @param username The username
+ * @param extern Whether the User is authenticated by an external system
+ * @param lastPasswordChange When the password has been changed the last time
+ * @param locked Whether the User is locked
+ * @param enabled Whether the User is enabled
+ * @param expirationDate When the account expires
+ * @param fullname The full name
+ * @param userDetails The embedded details
+ * @author Heiko Scherrer
+ */
+public record UserView(String pKey, long ol, String username, boolean extern, ZonedDateTime lastPasswordChange, boolean locked,
+                       boolean enabled, ZonedDateTime expirationDate, String fullname, UserDetails userDetails) {
+}
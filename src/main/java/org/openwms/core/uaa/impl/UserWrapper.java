@@ -7,6 +7,7 @@ import org.springframework.util.Assert;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Set;
 
 /**
  * An UserWrapper is used as an adapter between {@link Role}s, {@link SecurityObject}s and Spring's {@link GrantedAuthority} objects.
@@ -21,6 +22,8 @@ public class UserWrapper implements UserDetails, UserHolder, Serializable {
 
     private static final long serialVersionUID = 1L;
     private final User user;
+    /** The names of the effective authorities, calculated once when the User is wrapped. */
+    private final Set<String> authorityNames;
     private Collection<GrantedAuthority> authorities = null;
 
     /**
@@ -33,7 +36,7 @@ public class UserWrapper implements UserDetails, UserHolder, Serializable {
         Assert.notNull(user, "Not allowed to create an UserWrapper with null argument");
         this.user = user;
         this.user.getRoles().size(); // Postload roles
-        this.user.getGrants().size(); // Postload grants
+        this.authorityNames = AuthoritySnapshots.authoritiesOf(user);
     }
 
     /**
@@ -62,7 +65,7 @@ public class UserWrapper implements UserDetails, UserHolder, Serializable {
     public Collection<GrantedAuthority> getAuthorities() {
         if (null == authorities) {
             authorities = new HashSet<>();
-            authorities.addAll(user.getGrants().stream().map(SecurityObjectAuthority::new).toList());
+            authorities.addAll(authorityNames.stream().map(SecurityObjectAuthority::new).toList());
             addDefaultGrants(authorities);
         }
         return authorities;
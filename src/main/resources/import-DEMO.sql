@@ -10,9 +10,9 @@ insert into cor_uaa_client (c_pk, c_created, c_ol, c_pid, c_authorized_grant_typ
 
 -- Users
 -- Password: tester
-insert into cor_uaa_user (c_type, c_pk, c_created, c_ol, c_pid, c_enabled, c_expiration_date, c_extern, c_fullname, c_last_password_change, c_locked, c_password, c_comment, c_department, c_description, c_gender, c_im, c_image, c_office, c_phone_no, c_username) values ('STANDARD', 1, now(), 0, 'bb5efb8e-ad2a-427b-9f4c-83ec6e6c0e90', 'true', null, 'false', 'Testuser', now(), 'false', '{bcrypt}$2a$15$k67lgzS8AaDOT9oKjY88qO1D9zpPY.AU.VSgIZ1fKgIaWjPVA55aC', 'Tester', 'Dep. 1', 'Just a test user', 'FEMALE', 'Skype:testee', null, 'Off. 815', '001-1234-56789', 'tester');
+insert into cor_uaa_user (c_type, c_pk, c_created, c_ol, c_pid, c_enabled, c_expiration_date, c_extern, c_fullname, c_last_password_change, c_locked, c_password, c_comment, c_department, c_description, c_gender, c_im, c_office, c_phone_no, c_username) values ('STANDARD', 1, now(), 0, 'bb5efb8e-ad2a-427b-9f4c-83ec6e6c0e90', 'true', null, 'false', 'Testuser', now(), 'false', '{bcrypt}$2a$15$k67lgzS8AaDOT9oKjY88qO1D9zpPY.AU.VSgIZ1fKgIaWjPVA55aC', 'Tester', 'Dep. 1', 'Just a test user', 'FEMALE', 'Skype:testee', 'Off. 815', '001-1234-56789', 'tester');
 -- Password: mbinder
-insert into cor_uaa_user (c_type, c_pk, c_created, c_ol, c_pid, c_enabled, c_expiration_date, c_extern, c_fullname, c_last_password_change, c_locked, c_password, c_comment, c_department, c_description, c_gender, c_im, c_image, c_office, c_phone_no, c_username) values ('STANDARD', 2, now(), 0, 'bb5efb8e-ad2a-427b-9f4c-83ec6e6c0e91', 'true', null, 'false', 'Heiko Scherrer', now(), 'false', '{bcrypt}$2a$15$tXDkt7o/LSc1X51VklK6lOEvXt8RPFW/uN5mdchifE28tnUhXVkEC', 'Private account', 'Dep. 1', '', 'MALE', 'Skype:openwms', null, 'Off. 815', '001-1234-56789', 'hscherrer');
+insert into cor_uaa_user (c_type, c_pk, c_created, c_ol, c_pid, c_enabled, c_expiration_date, c_extern, c_fullname, c_last_password_change, c_locked, c_password, c_comment, c_department, c_description, c_gender, c_im, c_office, c_phone_no, c_username) values ('STANDARD', 2, now(), 0, 'bb5efb8e-ad2a-427b-9f4c-83ec6e6c0e91', 'true', null, 'false', 'Heiko Scherrer', now(), 'false', '{bcrypt}$2a$15$tXDkt7o/LSc1X51VklK6lOEvXt8RPFW/uN5mdchifE28tnUhXVkEC', 'Private account', 'Dep. 1', '', 'MALE', 'Skype:openwms', 'Off. 815', '001-1234-56789', 'hscherrer');
 
 -- Roles
 insert into cor_uaa_role (c_name, c_type, c_description, c_immutable, c_pk, c_created, c_ol, c_pid) values ('ROLE_Picking', 'ROLE', 'The Pickers role', true, 1, now(), 0, '1');
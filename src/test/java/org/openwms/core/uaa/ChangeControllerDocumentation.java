@@ -0,0 +1,133 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.UAAApplicationTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.restdocs.RestDocumentationContextProvider;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.openwms.core.uaa.api.UAAConstants.API_CHANGES;
+import static org.openwms.core.uaa.api.UAAConstants.API_ROLES;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.documentationConfiguration;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.preprocessResponse;
+import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A ChangeControllerDocumentation.
+ *
+ * @author Heiko Scherrer
+ */
+@UAAApplicationTest
+class ChangeControllerDocumentation {
+
+    protected MockMvc mockMvc;
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp(RestDocumentationContextProvider restDocumentation, WebApplicationContext context) {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(documentationConfiguration(restDocumentation))
+                .build();
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_find_changes() throws Exception {
+        mockMvc.perform(post(API_ROLES + "/2/users/96baa849-dd19-4b19-8c5e-895d3b7f405e"))
+                .andExpect(status().is2xxSuccessful());
+        // Assigning again does not change anything and is not logged
+        mockMvc.perform(post(API_ROLES + "/2/users/96baa849-dd19-4b19-8c5e-895d3b7f405e"))
+                .andExpect(status().is2xxSuccessful());
+        awaitChanges(2);
+
+        var body = mockMvc.perform(get(API_CHANGES).queryParam("since", "0"))
+                .andDo(document("changes-find", preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", greaterThan(0)))
+                .andExpect(jsonPath("$.more", is(false)))
+                .andExpect(jsonPath("$.changes.length()", is(2)))
+                .andExpect(jsonPath("$.changes[0].entity", is("ROLE")))
+                .andExpect(jsonPath("$.changes[0].pKey", is("2")))
+                .andExpect(jsonPath("$.changes[0].type", is("MODIFIED")))
+                .andExpect(jsonPath("$.changes[1].entity", is("USER")))
+                .andExpect(jsonPath("$.changes[1].pKey", is("96baa849-dd19-4b19-8c5e-895d3b7f405e")))
+                .andReturn().getResponse().getContentAsString();
+        var token = objectMapper.readTree(body).get("token").asLong();
+
+        mockMvc.perform(get(API_CHANGES).queryParam("since", String.valueOf(token)))
+                .andDo(document("changes-find-none", preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", is((int) token)))
+                .andExpect(jsonPath("$.changes.length()", is(0)))
+        ;
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_collapse_changes_of_the_same_entity() throws Exception {
+        mockMvc.perform(post(API_ROLES + "/2/users/96baa849-dd19-4b19-8c5e-895d3b7f405e"))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(post(API_ROLES + "/1/users/96baa849-dd19-4b19-8c5e-895d3b7f405e"))
+                .andExpect(status().is2xxSuccessful());
+        awaitChanges(3);
+
+        mockMvc.perform(get(API_CHANGES))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()", is(3)))
+                .andExpect(jsonPath("$.changes[0].pKey", is("2")))
+                .andExpect(jsonPath("$.changes[1].pKey", is("1")))
+                .andExpect(jsonPath("$.changes[2].entity", is("USER")))
+        ;
+        mockMvc.perform(get(API_CHANGES).queryParam("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.more", is(true)))
+                .andExpect(jsonPath("$.changes.length()", is(1)))
+        ;
+    }
+
+    /** The change log is written asynchronously by the outbox relay. */
+    private void awaitChanges(int expected) throws Exception {
+        var deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            var body = mockMvc.perform(get(API_CHANGES)).andReturn().getResponse().getContentAsString();
+            if (objectMapper.readTree(body).get("changes").size() >= expected) {
+                return;
+            }
+            assertThat(System.currentTimeMillis()).as("Changes not logged in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
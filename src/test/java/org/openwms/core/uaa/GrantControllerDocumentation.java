@@ -43,8 +43,11 @@ import static org.springframework.restdocs.operation.preprocess.Preprocessors.pr
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -184,4 +187,19 @@ class GrantControllerDocumentation {
                 .andDo(document("grant-findallforuser-404"))
         ;
     }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_export_grants() throws Exception {
+        var result = mockMvc.perform(get(API_GRANTS + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var lines = mockMvc.perform(asyncDispatch(result))
+                .andDo(document("grant-export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(objectMapper.readTree(lines.get(0)).get("name").asText()).isEqualTo("SEC_UAA_USER_LOOKUP");
+        assertThat(objectMapper.readTree(lines.get(4 - 1)).get("name").asText()).isEqualTo("SEC_UAA_USER_DELETE");
+    }
 }
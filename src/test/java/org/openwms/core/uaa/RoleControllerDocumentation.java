@@ -45,9 +45,12 @@ import static org.springframework.restdocs.operation.preprocess.Preprocessors.pr
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -133,6 +136,21 @@ class RoleControllerDocumentation {
         ;
     }
 
+    @Sql("classpath:test.sql")
+    @Test void shall_export_roles() throws Exception {
+        var result = mockMvc.perform(get(API_ROLES + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var lines = mockMvc.perform(asyncDispatch(result))
+                .andDo(document("role-export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(0)).get("name").asText()).isEqualTo("ROLE_ADMIN");
+        assertThat(objectMapper.readTree(lines.get(2 - 1)).get("name").asText()).isEqualTo("ROLE_OPS");
+    }
+
     @Sql("classpath:test.sql")
     @Test void shall_find_users_of_role() throws Exception {
         var mvcResult = mockMvc.perform(get(API_ROLES + "/1/users"))
@@ -145,6 +163,24 @@ class RoleControllerDocumentation {
         assertThat(mvcResult.getResponse().getHeader(HttpHeaders.CONTENT_TYPE)).isEqualTo(UserVO.MEDIA_TYPE);
     }
 
+    @Sql("classpath:test.sql")
+    @Test void shall_find_users_of_role_paged() throws Exception {
+        mockMvc.perform(get(API_ROLES + "/1/users").queryParam("size", "1").queryParam("after", "a"))
+                .andDo(document("role-findUsersOfRole-paged", preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].username", is("jenkins")))
+                .andExpect(jsonPath("$[0].details").doesNotExist())
+        ;
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_not_find_users_of_unknown_role() throws Exception {
+        mockMvc.perform(get(API_ROLES + "/UNKNOWN/users"))
+                .andExpect(status().isNotFound())
+        ;
+    }
+
     @Sql("classpath:test.sql")
     @Test void shall_find_grants_of_role() throws Exception {
         var mvcResult = mockMvc.perform(get(API_ROLES + "/1/grants"))
@@ -226,6 +262,44 @@ class RoleControllerDocumentation {
                 .andExpect(status().isOk());
     }
 
+    @Sql("classpath:test.sql")
+    @Test
+    void shall_assign_users() throws Exception {
+        mockMvc.perform(
+                post(API_ROLES + "/1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"96baa849-dd19-4b19-8c5e-895d3b7f405d\", \"96baa849-dd19-4b19-8c5e-895d3b7f405e\"]"))
+                .andDo(document("role-assign-users", preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(API_ROLES + "/1/users"))
+                .andExpect(jsonPath("$.length()", is(2)));
+    }
+
+    @Sql("classpath:test.sql")
+    @Test
+    void shall_not_assign_users_if_one_is_unknown() throws Exception {
+        mockMvc.perform(
+                post(API_ROLES + "/2/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"96baa849-dd19-4b19-8c5e-895d3b7f405e\", \"UNKNOWN\"]"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(API_ROLES + "/2/users"))
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Sql("classpath:test.sql")
+    @Test
+    void shall_unassign_users() throws Exception {
+        mockMvc.perform(
+                delete(API_ROLES + "/1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"96baa849-dd19-4b19-8c5e-895d3b7f405d\", \"96baa849-dd19-4b19-8c5e-895d3b7f405e\"]"))
+                .andDo(document("role-unassign-users", preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(API_ROLES + "/1/users"))
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
     @Sql("classpath:test.sql")
     @Test
     void test_assign_unknown_user() throws Exception {
@@ -0,0 +1,143 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.UAAApplicationTest;
+import org.openwms.core.uaa.api.CredentialsVO;
+import org.openwms.core.uaa.app.SqlStatementCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.core.uaa.api.UAAConstants.API_GRANTS;
+import static org.openwms.core.uaa.api.UAAConstants.API_ROLES;
+import static org.openwms.core.uaa.api.UAAConstants.API_USERS;
+import static org.springframework.test.context.jdbc.Sql.ExecutionPhase.AFTER_TEST_METHOD;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A SqlStatementBudgetIT guards the number of SQL statements of the read endpoints. Each endpoint has a fixed statement budget, and the
+ * statements of list endpoints must not grow with the number of rows (N+1 selects of lazy collections).
+ *
+ * @author Heiko Scherrer
+ */
+@UAAApplicationTest
+class SqlStatementBudgetIT {
+
+    private static final String TESTER_PKEY = "96baa849-dd19-4b19-8c5e-895d3b7f405e";
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp(WebApplicationContext context) {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    private long statementsOf(RequestBuilder request) throws Exception {
+        var start = SqlStatementCounter.current();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return SqlStatementCounter.current() - start;
+    }
+
+    /*
+     * The export is written on another thread after the request has been dispatched asynchronously, its statements are taken from the
+     * summary of the service method.
+     */
+    private long statementsOfExport() throws Exception {
+        var start = exportStatements();
+        var result = mockMvc.perform(get(API_USERS + "/export")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        return (long) (exportStatements() - start);
+    }
+
+    private double exportStatements() {
+        var summary = registry.find(SqlStatementCounter.METRIC_NAME)
+                .tags("scope", "service", "class", "UserServiceImpl", "method", "exportAllVOs")
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_find_user_within_budget() throws Exception {
+        assertThat(statementsOf(get(API_USERS + "/" + TESTER_PKEY))).isBetween(1L, 5L);
+        assertThat(statementsOf(get(API_USERS).param("username", "tester"))).isBetween(1L, 5L);
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_authenticate_within_budget() throws Exception {
+        assertThat(statementsOf(post(API_USERS + "/authenticate")
+                .content(objectMapper.writeValueAsString(new CredentialsVO("tester", "tester")))
+                .contentType(MediaType.APPLICATION_JSON))).isBetween(1L, 5L);
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_find_all_within_budget() throws Exception {
+        assertThat(statementsOf(get(API_USERS))).isBetween(1L, 5L);
+        assertThat(statementsOf(get(API_ROLES))).isBetween(1L, 3L);
+        assertThat(statementsOf(get(API_GRANTS))).isBetween(1L, 3L);
+    }
+
+    @Sql("classpath:test.sql")
+    @Sql(scripts = "classpath:test.sql", executionPhase = AFTER_TEST_METHOD)
+    @Test void shall_not_grow_with_number_of_users() throws Exception {
+        var users = statementsOf(get(API_USERS));
+        var roles = statementsOf(get(API_ROLES));
+
+        new ResourceDatabasePopulator(new ClassPathResource("test-users.sql")).execute(dataSource);
+
+        assertThat(statementsOf(get(API_USERS))).isEqualTo(users);
+        assertThat(statementsOf(get(API_ROLES))).isEqualTo(roles);
+    }
+
+    @Sql("classpath:test.sql")
+    @Sql(scripts = "classpath:test.sql", executionPhase = AFTER_TEST_METHOD)
+    @Test void shall_export_users_within_budget() throws Exception {
+        var export = statementsOfExport();
+        assertThat(export).isBetween(1L, 3L);
+
+        new ResourceDatabasePopulator(new ClassPathResource("test-users.sql")).execute(dataSource);
+
+        assertThat(statementsOfExport()).isEqualTo(export);
+    }
+}
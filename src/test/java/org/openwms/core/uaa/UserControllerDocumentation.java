@@ -35,6 +35,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.ZonedDateTime;
@@ -45,7 +46,9 @@ import java.util.List;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.within;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.openwms.core.uaa.api.UAAConstants.API_USERS;
@@ -59,9 +62,12 @@ import static org.springframework.restdocs.operation.preprocess.Preprocessors.pr
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.prettyPrint;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.requestFields;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -99,6 +105,34 @@ class UserControllerDocumentation {
         mockMvc.perform(get(API_USERS))
                 .andDo(document("user-findAll"))
                 .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
+        ;
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_find_users_paged() throws Exception {
+        mockMvc.perform(get(API_USERS).queryParam("size", "1"))
+                .andDo(document("user-findAll-paged"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].username", is("jenkins")))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("after=jenkins")))
+        ;
+        mockMvc.perform(get(API_USERS).queryParam("size", "1").queryParam("after", "jenkins"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username", is("tester")))
+        ;
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_find_users_filtered() throws Exception {
+        mockMvc.perform(get(API_USERS).queryParam("prefix", "te").queryParam("locked", "false"))
+                .andDo(document("user-findAll-filtered"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].username", is("tester")))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
         ;
     }
 
@@ -186,6 +220,80 @@ class UserControllerDocumentation {
                 .andReturn().getResponse().getContentAsString();
     }
 
+    @Sql("classpath:test.sql")
+    @Test void shall_import_users_ndjson() throws Exception {
+        var ndjson = """
+                {"username":"operator1","fullname":"Operator 1","emailAddresses":[{"emailAddress":"op1@example.com","primary":true}],"roleNames":["ROLE_OPS"]}
+                {"username":"operator2","emailAddresses":[{"emailAddress":"op2@example.com","primary":true}]}
+                {"username":"tester","emailAddresses":[{"emailAddress":"tester@example.com","primary":true}]}
+                {"username":"operator3"}
+                {"username":
+                {"username":"operator4","emailAddresses":[{"emailAddress":"op4@example.com","primary":true}]}
+                """;
+        mockMvc.perform(post(API_USERS + "/import")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andDo(document("user-import-ndjson", preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(3)))
+                .andExpect(jsonPath("$.skipped", is(1)))
+                .andExpect(jsonPath("$.failed", is(2)))
+                .andExpect(jsonPath("$.failures[0].position", is(4)))
+                .andExpect(jsonPath("$.failures[0].username", is("operator3")))
+                .andExpect(jsonPath("$.failures[1].position", is(5)))
+                .andExpect(jsonPath("$.failures[1].message", containsString("Line 5")))
+        ;
+        mockMvc.perform(get(API_USERS).queryParam("role", "ROLE_OPS"))
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].username", is("operator1")))
+                .andExpect(jsonPath("$[0].emailAddresses[0].emailAddress", is("op1@example.com")))
+        ;
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_import_users_csv() throws Exception {
+        var csv = """
+                username,fullname,email,enabled,locked,roles
+                operator1,"Operator, the first",op1@example.com,true,false,ROLE_OPS|ROLE_ADMIN
+                operator2,,op2@example.com,,,
+                """;
+        mockMvc.perform(post(API_USERS + "/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andDo(document("user-import-csv", preprocessResponse(prettyPrint())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.failed", is(0)))
+        ;
+        mockMvc.perform(get(API_USERS).queryParam("prefix", "operator1"))
+                .andExpect(jsonPath("$[0].fullname", is("Operator, the first")))
+                .andExpect(jsonPath("$[0].roleNames.length()", is(2)))
+        ;
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_export_users() throws Exception {
+        var result = mockMvc.perform(get(API_USERS + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var lines = mockMvc.perform(asyncDispatch(result))
+                .andDo(document("user-export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines.get(0)).get("username").asText()).isEqualTo("jenkins");
+        assertThat(objectMapper.readTree(lines.get(2 - 1)).get("username").asText()).isEqualTo("tester");
+    }
+
+    @Test void shall_not_import_malformed_csv() throws Exception {
+        mockMvc.perform(post(API_USERS + "/import")
+                        .contentType("text/csv")
+                        .content("username,unknown\noperator1,x\n"))
+                .andExpect(status().isBadRequest())
+        ;
+    }
+
     @Sql("classpath:test.sql")
     @Test void shall_create_user_exists() throws Exception {
         var vo = new UserVO("tester");
@@ -268,6 +376,80 @@ class UserControllerDocumentation {
                 .andExpect(status().isNotFound());
     }
 
+    @Sql("classpath:test.sql")
+    @Test void shall_upload_and_find_image() throws Exception {
+        var pKey = "96baa849-dd19-4b19-8c5e-895d3b7f405e";
+        var eTag = mockMvc.perform(
+                        put(API_USERS + "/" + pKey + "/details/image")
+                                .content("0123456789".getBytes(StandardCharsets.UTF_8))
+                                .contentType(MediaType.IMAGE_PNG))
+                .andDo(document("user-uploadimage"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var result = mockMvc.perform(get(API_USERS + "/" + pKey + "/details/image"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(document("user-findimage"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes("0123456789".getBytes(StandardCharsets.UTF_8)));
+
+        result = mockMvc.perform(get(API_USERS + "/" + pKey + "/details/image").header(HttpHeaders.RANGE, "bytes=2-4"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(document("user-findimage-range"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/10"))
+                .andExpect(content().bytes("234".getBytes(StandardCharsets.UTF_8)));
+
+        mockMvc.perform(get(API_USERS + "/" + pKey + "/details/image").header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+
+        mockMvc.perform(get(API_USERS + "/" + pKey + "/details/image").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(document("user-findimage-notmodified"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_find_thumbnail() throws Exception {
+        var pKey = "96baa849-dd19-4b19-8c5e-895d3b7f405e";
+        mockMvc.perform(
+                        put(API_USERS + "/" + pKey + "/details/image")
+                                .content(Files.readAllBytes(Paths.get(this.getClass().getClassLoader().getResource("pic.png").toURI())))
+                                .contentType(MediaType.IMAGE_PNG))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(API_USERS + "/" + pKey))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("/details/image/thumbnail?tag=")));
+        mockMvc.perform(get(API_USERS + "/96baa849-dd19-4b19-8c5e-895d3b7f405d"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not(containsString("/details/image/thumbnail"))));
+
+        mockMvc.perform(get(API_USERS + "/" + pKey + "/details/image/thumbnail"))
+                .andDo(document("user-findthumbnail"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(content().contentType(MediaType.IMAGE_PNG));
+
+        mockMvc.perform(get(API_USERS + "/96baa849-dd19-4b19-8c5e-895d3b7f405d/details/image/thumbnail"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Sql("classpath:test.sql")
+    @Test void shall_find_no_image() throws Exception {
+        mockMvc.perform(get(API_USERS + "/96baa849-dd19-4b19-8c5e-895d3b7f405d/details/image"))
+                .andDo(document("user-findimage-404"))
+                .andExpect(status().isNotFound());
+    }
+
     @Sql("classpath:test.sql")
     @Test void shall_delete_user() throws Exception {
 
@@ -0,0 +1,73 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A UserImportReaderTest.
+ *
+ * @author Heiko Scherrer
+ */
+class UserImportReaderTest {
+
+    @Test void testSplit() {
+        assertThat(UserImportReader.split("a,\"b, c\",,\"d \"\"e\"\"\"")).containsExactly("a", "b, c", "", "d \"e\"");
+    }
+
+    @Test void testCsv() {
+        var testee = UserImportReader.csv(reader("username,roles,locked\n\nop1,ROLE_A|ROLE_B,true\nop2,,\n"));
+        var first = testee.next();
+        assertThat(first.getUsername()).isEqualTo("op1");
+        assertThat(first.getRoleNames()).containsExactly("ROLE_A", "ROLE_B");
+        assertThat(first.getLocked()).isTrue();
+        var second = testee.next();
+        assertThat(second.getUsername()).isEqualTo("op2");
+        assertThat(second.getLocked()).isNull();
+        assertThat(testee.hasNext()).isFalse();
+    }
+
+    @Test void testCsvMalformedLine() {
+        var testee = UserImportReader.csv(reader("username,locked\nop1,true\nop2,maybe\nop3,false\n"));
+        testee.next();
+        assertThatThrownBy(testee::next).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Line 3");
+        assertThat(testee.next().getUsername()).isEqualTo("op3");
+        assertThat(testee.hasNext()).isFalse();
+    }
+
+    @Test void testNdjson() {
+        var testee = UserImportReader.ndjson(reader("{\"username\":\"op1\"}\n{\"username\":\n"), new ObjectMapper());
+        assertThat(testee.next().getUsername()).isEqualTo("op1");
+        assertThatThrownBy(testee::next).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Line 2");
+    }
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.app;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A ReplicaRoutingDataSourceTest routes between two H2 in-memory databases that only differ in the name stored in their {@code DB} table.
+ *
+ * @author Heiko Scherrer
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicReference<String> session = new AtomicReference<>();
+    private SimpleMeterRegistry registry;
+    private DataSource primary;
+    private DataSource replica;
+
+    @BeforeEach
+    void onBefore() {
+        registry = new SimpleMeterRegistry();
+        primary = database("primary");
+        replica = database("replica");
+        session.set(null);
+    }
+
+    private static DataSource database(String name) {
+        var ds = new DriverManagerDataSource("jdbc:h2:mem:" + name + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        var jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table DB (C_NAME varchar(20))");
+        jdbc.update("insert into DB (C_NAME) values (?)", name);
+        return ds;
+    }
+
+    private TransactionTemplate[] templates(DataSource replica, Duration lagGuard, Duration retryAfter) {
+        var routing = new ReplicaRoutingDataSource(primary, replica, lagGuard, retryAfter, session::get, registry);
+        var txManager = new DataSourceTransactionManager(new LazyConnectionDataSourceProxy(routing));
+        var readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+        return new TransactionTemplate[]{readOnly, new TransactionTemplate(txManager)};
+    }
+
+    private static String read(TransactionTemplate template) {
+        return template.execute(status -> readName(template));
+    }
+
+    private static String readName(TransactionTemplate template) {
+        var ds = ((DataSourceTransactionManager) template.getTransactionManager()).getDataSource();
+        return new JdbcTemplate(ds).queryForObject("select C_NAME from DB", String.class);
+    }
+
+    private double connections(String target, String reason) {
+        return registry.get(ReplicaRoutingDataSource.METRIC_NAME).tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    @Test void testReadOnlyTransactionsGoToTheReplica() {
+        var templates = templates(replica, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        assertThat(read(templates[0])).isEqualTo("replica");
+        assertThat(read(templates[1])).isEqualTo("primary");
+        assertThat(readName(templates[0])).isEqualTo("primary");
+        assertThat(connections("replica", "read-only")).isEqualTo(1);
+    }
+
+    @Test void testReadsOfTheSameSessionAfterAWriteGoToThePrimary() {
+        var templates = templates(replica, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        session.set("s1");
+        assertThat(read(templates[0])).isEqualTo("replica");
+        templates[1].executeWithoutResult(status -> new JdbcTemplate(((DataSourceTransactionManager) templates[1].getTransactionManager())
+                .getDataSource()).update("update DB set C_NAME = 'written'"));
+        assertThat(read(templates[0])).isEqualTo("written");
+
+        session.set("s2");
+        assertThat(read(templates[0])).isEqualTo("replica");
+        session.set(null);
+        assertThat(read(templates[0])).isEqualTo("replica");
+        assertThat(connections("primary", "lag-guard")).isEqualTo(1);
+    }
+
+    @Test void testRolledBackWritesAreNotGuarded() {
+        var templates = templates(replica, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        session.set("s1");
+        templates[1].executeWithoutResult(status -> {
+            readName(templates[1]);
+            status.setRollbackOnly();
+        });
+        assertThat(read(templates[0])).isEqualTo("replica");
+    }
+
+    @Test void testReadsWithoutWritesAreNotGuarded() {
+        var templates = templates(replica, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        session.set("s1");
+        assertThat(read(templates[0])).isEqualTo("replica");
+        assertThat(read(templates[1])).isEqualTo("primary");
+        assertThat(read(templates[0])).isEqualTo("replica");
+        assertThat(connections("primary", "lag-guard")).isZero();
+    }
+
+    @Test void testConnectionsWithCredentialsGoToThePrimary() throws SQLException {
+        var routing = new ReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1), Duration.ofMinutes(1), session::get, registry);
+        try (var connection = routing.getConnection("sa", "");
+             var rs = connection.createStatement().executeQuery("select C_NAME from DB")) {
+            assertThat(rs.next()).isTrue();
+            assertThat(rs.getString(1)).isEqualTo("primary");
+        }
+    }
+
+    @Test void testNoLagGuard() {
+        var templates = templates(replica, Duration.ZERO, Duration.ofMinutes(1));
+        session.set("s1");
+        templates[1].executeWithoutResult(status -> readName(templates[1]));
+        assertThat(read(templates[0])).isEqualTo("replica");
+    }
+
+    @Test void testFallbackToThePrimary() {
+        var unavailable = new UnavailableDataSource();
+        var templates = templates(unavailable, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        assertThat(read(templates[0])).isEqualTo("primary");
+        assertThat(read(templates[0])).isEqualTo("primary");
+        assertThat(unavailable.attempts).hasValue(1);
+        assertThat(connections("primary", "fallback")).isEqualTo(2);
+    }
+
+    @Test void testReplicaIsRetried() {
+        var unavailable = new UnavailableDataSource();
+        var templates = templates(unavailable, Duration.ofMinutes(1), Duration.ZERO);
+        assertThat(read(templates[0])).isEqualTo("primary");
+        unavailable.delegate = replica;
+        assertThat(read(templates[0])).isEqualTo("replica");
+        assertThat(unavailable.attempts).hasValue(2);
+    }
+
+    private static class UnavailableDataSource extends AbstractDataSource {
+        private final AtomicInteger attempts = new AtomicInteger();
+        private volatile DataSource delegate;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            attempts.incrementAndGet();
+            if (delegate == null) {
+                throw new SQLException("Connection refused");
+            }
+            return delegate.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.app;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.UAAApplicationTest;
+import org.openwms.core.uaa.api.CredentialsVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.ameba.Constants.HEADER_VALUE_X_IDENTITY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.core.uaa.api.UAAConstants.API_GRANTS;
+import static org.openwms.core.uaa.api.UAAConstants.API_USERS;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A ReplicaRoutingIT runs the service with the replica routing enabled. The replica points to the same in-memory database as the primary,
+ * so the routing is only visible in the number of connections by target.
+ *
+ * @author Heiko Scherrer
+ */
+@UAAApplicationTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicaIT;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "owms.uaa.replica.enabled=true",
+        "owms.uaa.replica.url=jdbc:h2:mem:replicaIT;DB_CLOSE_DELAY=-1",
+        "owms.uaa.replica.lag-guard=1m"
+})
+@Sql("classpath:test.sql")
+class ReplicaRoutingIT {
+
+    private static final String TESTER_PKEY = "96baa849-dd19-4b19-8c5e-895d3b7f405e";
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp(WebApplicationContext context) {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    private double connections(String target, String reason) {
+        return registry.get(ReplicaRoutingDataSource.METRIC_NAME).tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private double replicaConnectionsOf(RequestBuilder request) throws Exception {
+        var start = connections("replica", "read-only");
+        mockMvc.perform(request).andExpect(status().isOk());
+        return connections("replica", "read-only") - start;
+    }
+
+    @Test void shall_find_by_username_on_the_replica() throws Exception {
+        assertThat(replicaConnectionsOf(get(API_USERS).param("username", "tester"))).isPositive();
+    }
+
+    @Test void shall_authenticate_on_the_replica() throws Exception {
+        assertThat(replicaConnectionsOf(post(API_USERS + "/authenticate")
+                .content(objectMapper.writeValueAsString(new CredentialsVO("tester", "tester")))
+                .contentType(MediaType.APPLICATION_JSON))).isPositive();
+    }
+
+    @Test void shall_find_grants_of_user_on_the_replica() throws Exception {
+        assertThat(replicaConnectionsOf(get(API_GRANTS).header(HEADER_VALUE_X_IDENTITY, "jenkins"))).isPositive();
+    }
+
+    @Test void shall_not_guard_the_session_without_writes() throws Exception {
+        var guarded = connections("primary", "lag-guard");
+        mockMvc.perform(get(API_USERS).param("username", "tester").header(HEADER_VALUE_X_IDENTITY, "tester"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(API_USERS + "/" + TESTER_PKEY + "/roles").header(HEADER_VALUE_X_IDENTITY, "tester"))
+                .andExpect(status().isOk());
+
+        assertThat(replicaConnectionsOf(get(API_USERS).param("username", "tester").header(HEADER_VALUE_X_IDENTITY, "tester")))
+                .isPositive();
+        assertThat(connections("primary", "lag-guard")).isEqualTo(guarded);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.app;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A StrengthAwareBCryptPasswordEncoderTest uses low strengths to keep the hash calculation cheap.
+ *
+ * @author Heiko Scherrer
+ */
+class StrengthAwareBCryptPasswordEncoderTest {
+
+    private static final String HASH_4 = new BCryptPasswordEncoder(4).encode("secret");
+    private static final String HASH_5 = new BCryptPasswordEncoder(5).encode("secret");
+
+    @Test void testSameStrengthIsNotUpgraded() {
+        var testee = new UAASecurityConfiguration.StrengthAwareBCryptPasswordEncoder(4);
+        assertThat(testee.upgradeEncoding(HASH_4)).isFalse();
+    }
+
+    @Test void testWeakerHashIsUpgraded() {
+        var testee = new UAASecurityConfiguration.StrengthAwareBCryptPasswordEncoder(5);
+        assertThat(testee.upgradeEncoding(HASH_4)).isTrue();
+    }
+
+    @Test void testStrongerHashIsDowngraded() {
+        // The default implementation keeps stronger hashes, that is why the strength aware one exists
+        assertThat(new BCryptPasswordEncoder(4).upgradeEncoding(HASH_5)).isFalse();
+
+        var testee = new UAASecurityConfiguration.StrengthAwareBCryptPasswordEncoder(4);
+        assertThat(testee.upgradeEncoding(HASH_5)).isTrue();
+        assertThat(testee.matches("secret", HASH_5)).isTrue();
+    }
+
+    @Test void testNoBCryptHashIsNotUpgraded() {
+        var testee = new UAASecurityConfiguration.StrengthAwareBCryptPasswordEncoder(4);
+        assertThat(testee.upgradeEncoding(null)).isFalse();
+        assertThat(testee.upgradeEncoding("")).isFalse();
+        assertThat(testee.upgradeEncoding(Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("secret"))).isFalse();
+    }
+
+    @Test void testOtherAlgorithmIsUpgradedByTheDelegatingEncoder() {
+        var testee = new UAASecurityConfiguration().nopPasswordEncoder(4);
+        assertThat(testee.upgradeEncoding("{noop}secret")).isTrue();
+        assertThat(testee.upgradeEncoding("{bcrypt}" + HASH_5)).isTrue();
+        assertThat(testee.upgradeEncoding(testee.encode("secret"))).isFalse();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.app;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A UAAReplicaConfigurationTest.
+ *
+ * @author Heiko Scherrer
+ */
+class UAAReplicaConfigurationTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(UAAReplicaConfiguration.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:primary",
+                    "owms.uaa.replica.enabled=true",
+                    "owms.uaa.replica.url=jdbc:h2:mem:replica"
+            );
+
+    @Test void testBindPoolProperties() {
+        runner.withPropertyValues(
+                "spring.datasource.hikari.maximum-pool-size=7",
+                "owms.uaa.replica.hikari.maximum-pool-size=3",
+                "owms.uaa.replica.hikari.connection-timeout=1500"
+        ).run(context -> {
+            var primary = context.getBean("uaaPrimaryDataSource", HikariDataSource.class);
+            assertThat(primary.getJdbcUrl()).isEqualTo("jdbc:h2:mem:primary");
+            assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+
+            var replica = context.getBean("uaaReplicaDataSource", HikariDataSource.class);
+            assertThat(replica.getJdbcUrl()).isEqualTo("jdbc:h2:mem:replica");
+            assertThat(replica.getPoolName()).isEqualTo("uaa-replica");
+            assertThat(replica.getMaximumPoolSize()).isEqualTo(3);
+            assertThat(replica.getConnectionTimeout()).isEqualTo(1500);
+        });
+    }
+}
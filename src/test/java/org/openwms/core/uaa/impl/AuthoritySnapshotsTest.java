@@ -0,0 +1,149 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An AuthoritySnapshotsTest.
+ *
+ * @author Heiko Scherrer
+ */
+class AuthoritySnapshotsTest {
+
+    private static User userWith(String username, Role... roles) {
+        var user = new User(username);
+        for (var role : roles) {
+            user.addRole(role);
+        }
+        return user;
+    }
+
+    private static Role roleWith(String name, String pKey, Grant... grants) {
+        var role = new Role(name);
+        role.setPersistentKey(pKey);
+        for (var grant : grants) {
+            role.addGrant(grant);
+        }
+        return role;
+    }
+
+    private static Grant grant(String name, String pKey) {
+        var grant = new Grant(name);
+        grant.setPersistentKey(pKey);
+        return grant;
+    }
+
+    @Test void testSnapshotIsDeduplicatedAndShared() {
+        var read = grant("SEC_READ", "g1");
+        var testee = new AuthoritySnapshots(true);
+
+        var first = testee.snapshotOf(userWith("first", roleWith("R1", "r1", read), roleWith("R2", "r2", read)));
+        var second = testee.snapshotOf(userWith("second", roleWith("R3", "r3", read)));
+
+        assertThat(first.authorities()).containsExactly("SEC_READ");
+        assertThat(first.securityObjectKeys()).containsExactlyInAnyOrder("r1", "r2", "g1");
+        assertThat(second.authorities()).isSameAs(first.authorities());
+        assertThat(testee.find("first")).contains(first);
+    }
+
+    @Test void testRoleEventDropsDependentSnapshotsOnly() {
+        var role = roleWith("R1", "r1", grant("SEC_READ", "g1"));
+        var other = roleWith("R2", "r2", grant("SEC_WRITE", "g2"));
+        var testee = new AuthoritySnapshots(true);
+        testee.snapshotOf(userWith("holder", role));
+        testee.snapshotOf(userWith("other", other));
+        testee.snapshotOf(userWith("assigned", other));
+
+        testee.onRoleEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED, List.of("assigned")));
+
+        assertThat(testee.find("holder")).isEmpty();
+        assertThat(testee.find("assigned")).isEmpty();
+        assertThat(testee.find("other")).isPresent();
+    }
+
+    @Test void testGrantAndUserEventsDropSnapshots() {
+        var user = userWith("holder", roleWith("R1", "r1", grant("SEC_READ", "g1")));
+        user.setPersistentKey("u1");
+        var testee = new AuthoritySnapshots(true);
+        testee.snapshotOf(user);
+
+        testee.onGrantEvent(new GrantEvent(grant("SEC_READ", "g1"), GrantEvent.EventType.CREATED));
+        assertThat(testee.find("holder")).isEmpty();
+
+        testee.snapshotOf(user);
+        var renamed = new User("renamed");
+        renamed.setPersistentKey("u1");
+        testee.onUserEvent(new UserEvent(renamed, UserEvent.EventType.MODIFIED));
+        assertThat(testee.find("holder")).isEmpty();
+    }
+
+    @Test void testSnapshotCalculatedWhileARevocationIsCommittedIsNotKept() {
+        var role = roleWith("R1", "r1", grant("SEC_READ", "g1"));
+        var testee = new AuthoritySnapshots(true);
+        var user = new User("holder") {
+            @Override
+            public List<Role> getRoles() {
+                // The revocation commits after the User has been read but before the snapshot is kept
+                testee.onRoleEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED, List.of("holder")));
+                return List.of(role);
+            }
+        };
+
+        var stale = testee.snapshotOf(user);
+
+        assertThat(stale.authorities()).containsExactly("SEC_READ");
+        assertThat(testee.find("holder")).isEmpty();
+    }
+
+    @Test void testSnapshotCalculatedWithinAReadWriteTransactionIsNotKept() {
+        var testee = new AuthoritySnapshots(true);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            var snapshot = testee.snapshotOf(userWith("holder", roleWith("R1", "r1", grant("SEC_READ", "g1"))));
+
+            assertThat(snapshot.authorities()).containsExactly("SEC_READ");
+            assertThat(testee.find("holder")).isEmpty();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    @Test void testAuthoritiesOfUnpersistedUser() {
+        var user = userWith("holder", roleWith("R1", "r1", new Grant("SEC_READ")), roleWith("R2", "r2", new Grant("SEC_READ")));
+
+        assertThat(AuthoritySnapshots.authoritiesOf(user)).containsExactly("SEC_READ");
+    }
+
+    @Test void testDisabledKeepsNothing() {
+        var testee = new AuthoritySnapshots(false);
+        var snapshot = testee.snapshotOf(userWith("holder", roleWith("R1", "r1", grant("SEC_READ", "g1"))));
+
+        assertThat(snapshot.authorities()).containsExactly("SEC_READ");
+        assertThat(testee.find("holder")).isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.TestBase;
+import org.openwms.core.uaa.ChangeFeed;
+import org.openwms.core.uaa.app.DefaultTimeProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A ChangeLogRetentionIT.
+ *
+ * @author Heiko Scherrer
+ */
+@DataJpaTest(
+        showSql = false,
+        properties = {"owms.uaa.changes.retention=1h", "owms.uaa.changes.retention-interval=1h"},
+        includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = ChangeLogRetention.class)
+)
+@Sql("classpath:test.sql")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeLogRetentionIT extends TestBase {
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ChangeLogRepository repository;
+    @Autowired
+    private ChangeLogRetention testee;
+
+    @Test void testPurgeExpiredEntries() {
+        var expired = repository.save(new ChangeLogEntry(new OutboxMessage(ChangeFeed.EntityType.USER, "1", "tester", "MODIFIED")));
+        var kept = repository.save(new ChangeLogEntry(new OutboxMessage(ChangeFeed.EntityType.USER, "2", "admin", "MODIFIED")));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("update ChangeLogEntry c set c.loggedAt = :loggedAt where c.pk = :pk")
+                        .setParameter("loggedAt", new DefaultTimeProvider().nowAsZonedDateTime().minus(Duration.ofHours(2)))
+                        .setParameter("pk", expired.getPk())
+                        .executeUpdate()
+        );
+
+        assertThat(testee.purge()).isOne();
+        assertThat(repository.findById(expired.getPk())).isEmpty();
+        assertThat(repository.findById(kept.getPk())).isPresent();
+    }
+}
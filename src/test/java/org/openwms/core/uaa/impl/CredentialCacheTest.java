@@ -0,0 +1,117 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A CredentialCacheTest.
+ *
+ * @author Heiko Scherrer
+ */
+class CredentialCacheTest {
+
+    private static final String TEST_USER = "TEST_USER";
+    private static final String HASH = "{noop}secret";
+    private SimpleMeterRegistry registry;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void onBefore() {
+        registry = new SimpleMeterRegistry();
+        verifications = new AtomicInteger();
+    }
+
+    private boolean verifier(boolean result) {
+        verifications.incrementAndGet();
+        return result;
+    }
+
+    @Test void testDisabledAlwaysVerifies() {
+        var testee = new CredentialCache(false, 10, Duration.ofMinutes(5), registry);
+        assertThat(testee.verify(TEST_USER, "secret", HASH, () -> verifier(true))).isTrue();
+        assertThat(testee.verify(TEST_USER, "secret", HASH, () -> verifier(true))).isTrue();
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test void testRepeatedLoginIsAHit() {
+        var testee = new CredentialCache(true, 10, Duration.ofMinutes(5), registry);
+        assertThat(testee.verify(TEST_USER, "secret", HASH, () -> verifier(true))).isTrue();
+        assertThat(testee.verify(TEST_USER, "secret", HASH, () -> verifier(true))).isTrue();
+        assertThat(verifications).hasValue(1);
+        assertThat(registry.get("owms.uaa.credential.cache").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test void testWrongPasswordIsNeverCached() {
+        var testee = new CredentialCache(true, 10, Duration.ofMinutes(5), registry);
+        assertThat(testee.verify(TEST_USER, "wrong", HASH, () -> verifier(false))).isFalse();
+        assertThat(testee.verify(TEST_USER, "wrong", HASH, () -> verifier(false))).isFalse();
+        assertThat(verifications).hasValue(2);
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        assertThat(testee.verify(TEST_USER, "wrong", HASH, () -> verifier(false))).isFalse();
+    }
+
+    @Test void testChangedHashIsAMiss() {
+        var testee = new CredentialCache(true, 10, Duration.ofMinutes(5), registry);
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        testee.verify(TEST_USER, "secret", "{noop}other", () -> verifier(false));
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test void testEvictOnPasswordChange() {
+        var testee = new CredentialCache(true, 10, Duration.ofMinutes(5), registry);
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        testee.onApplicationEvent(new UserEvent(new User(TEST_USER), UserEvent.EventType.PASSWORD_CHANGED));
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test void testNoEvictOnModification() {
+        var testee = new CredentialCache(true, 10, Duration.ofMinutes(5), registry);
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        testee.onApplicationEvent(new UserEvent(new User(TEST_USER), UserEvent.EventType.MODIFIED));
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test void testExpiredEntryIsAMiss() {
+        var testee = new CredentialCache(true, 10, Duration.ZERO, registry);
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test void testBoundedSize() {
+        var testee = new CredentialCache(true, 1, Duration.ofMinutes(5), registry);
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        testee.verify("OTHER", "secret", HASH, () -> verifier(true));
+        testee.verify(TEST_USER, "secret", HASH, () -> verifier(true));
+        assertThat(verifications).hasValue(3);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.TestBase;
+import org.openwms.core.uaa.ChangeFeed;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A OutboxRelayIT.
+ *
+ * @author Heiko Scherrer
+ */
+@DataJpaTest(
+        showSql = false,
+        includeFilters = {
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = TransactionalOutbox.class),
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = OutboxRelay.class)
+        }
+)
+@Sql("classpath:test.sql")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayIT extends TestBase {
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private OutboxRepository repository;
+    @Autowired
+    private OutboxRelay relay;
+    @Autowired
+    private InMemoryOutboxHandler handler;
+    @Autowired
+    private ObjectProvider<OutboxHandler> handlers;
+    private TransactionTemplate tx;
+
+    @TestConfiguration
+    public static class TestConfig {
+        @Bean
+        InMemoryOutboxHandler inMemoryOutboxHandler() {
+            return new InMemoryOutboxHandler();
+        }
+    }
+
+    /** Keeps all relayed messages in memory, instead of passing them to a message broker. */
+    static class InMemoryOutboxHandler implements OutboxHandler {
+        final List<OutboxMessage> received = new CopyOnWriteArrayList<>();
+        volatile boolean failing;
+
+        @Override
+        public void handle(List<OutboxMessage> messages) {
+            if (failing) {
+                throw new IllegalStateException("Broker not available");
+            }
+            received.addAll(messages);
+        }
+    }
+
+    @BeforeEach
+    void onSetup() {
+        tx = new TransactionTemplate(transactionManager);
+        handler.received.clear();
+        handler.failing = false;
+    }
+
+    @Test void testRelayAfterCommit() {
+        tx.executeWithoutResult(status -> {
+            var grant = new Grant("SEC_UAA_OUTBOX", "Outbox test");
+            em.persist(grant);
+            eventPublisher.publishEvent(new GrantEvent(grant, GrantEvent.EventType.CREATED));
+        });
+
+        await(() -> !handler.received.isEmpty() && repository.count() == 0);
+        assertThat(handler.received).hasSize(1);
+        var message = handler.received.get(0);
+        assertThat(message.getEntity()).isEqualTo(ChangeFeed.EntityType.GRANT);
+        assertThat(message.getName()).isEqualTo("SEC_UAA_OUTBOX");
+        assertThat(message.getType()).isEqualTo("CREATED");
+    }
+
+    @Test void testNothingWrittenOnRollback() {
+        tx.executeWithoutResult(status -> {
+            var grant = new Grant("SEC_UAA_OUTBOX", "Outbox test");
+            em.persist(grant);
+            eventPublisher.publishEvent(new GrantEvent(grant, GrantEvent.EventType.CREATED));
+            status.setRollbackOnly();
+        });
+
+        assertThat(repository.count()).isZero();
+        assertThat(relay.drain()).isZero();
+        assertThat(handler.received).isEmpty();
+    }
+
+    @Test void testKeepMessagesWhenHandlerFails() {
+        repository.save(new OutboxMessage(ChangeFeed.EntityType.USER, "1", "tester", "MODIFIED"));
+        handler.failing = true;
+
+        assertThat(relay.drain()).isZero();
+        assertThat(repository.count()).isOne();
+
+        handler.failing = false;
+        assertThat(relay.drain()).isOne();
+        assertThat(repository.count()).isZero();
+        assertThat(handler.received).extracting(OutboxMessage::getName).containsExactly("tester");
+    }
+
+    @Test void testPollMessagesLeftOver() {
+        repository.save(new OutboxMessage(ChangeFeed.EntityType.USER, "1", "tester", "MODIFIED"));
+        var polling = new OutboxRelay(repository, transactionManager, handlers, 100, Duration.ofMillis(50));
+        try {
+            polling.onStartup();
+            await(() -> !handler.received.isEmpty() && repository.count() == 0);
+            assertThat(handler.received).extracting(OutboxMessage::getName).containsExactly("tester");
+
+            repository.save(new OutboxMessage(ChangeFeed.EntityType.USER, "2", "admin", "MODIFIED"));
+            await(() -> handler.received.size() == 2 && repository.count() == 0);
+        } finally {
+            polling.destroy();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("Condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.uaa.HashingCapacityExceededException;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A PasswordHashingExecutorTest.
+ *
+ * @author Heiko Scherrer
+ */
+class PasswordHashingExecutorTest {
+
+    @Test void testDisabledReturnsDelegate() {
+        var delegate = NoOpPasswordEncoder.getInstance();
+        var testee = new PasswordHashingExecutor(false, 1, 1, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        assertThat(testee.decorate(delegate)).isSameAs(delegate);
+    }
+
+    @Test void testEnabledDelegates() {
+        var testee = new PasswordHashingExecutor(true, 1, 1, Duration.ofSeconds(1), new SimpleMeterRegistry());
+        var encoder = testee.decorate(NoOpPasswordEncoder.getInstance());
+        assertThat(encoder.encode("secret")).isEqualTo("secret");
+        assertThat(encoder.matches("secret", "secret")).isTrue();
+        testee.destroy();
+    }
+
+    @Test void testRejectWhenQueueIsFull() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var testee = new PasswordHashingExecutor(true, 1, 1, Duration.ofSeconds(3), registry);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var encoder = testee.decorate(new BlockingEncoder(started, release));
+
+        var running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        var queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        var queue = registry.get("owms.uaa.hashing.queue").gauge();
+        for (var i = 0; i < 50 && queue.value() < 1.0; i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        assertThat(queue.value()).isEqualTo(1.0);
+
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(HashingCapacityExceededException.class)
+                .extracting(e -> ((HashingCapacityExceededException) e).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(3));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(registry.get("owms.uaa.hashing.rejected").counter().count()).isEqualTo(1.0);
+        testee.destroy();
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
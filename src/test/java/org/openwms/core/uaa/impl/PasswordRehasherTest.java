@@ -0,0 +1,92 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A PasswordRehasherTest.
+ *
+ * @author Heiko Scherrer
+ */
+class PasswordRehasherTest {
+
+    private final PasswordEncoder enc = mock(PasswordEncoder.class);
+    private final UserRepository repository = mock(UserRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PasswordRehasher testee = new PasswordRehasher(true, enc, repository, mock(PlatformTransactionManager.class), registry);
+
+    @AfterEach
+    void onAfter() {
+        testee.destroy();
+    }
+
+    @Test void testRehashUnchangedHash() {
+        var user = new User("tester", "{bcrypt}old");
+        when(enc.upgradeEncoding("{bcrypt}old")).thenReturn(true);
+        when(enc.encode("secret")).thenReturn("{bcrypt}new");
+        when(repository.findByUsername("tester")).thenReturn(Optional.of(user));
+
+        testee.rehashIfNeeded("tester", "secret", "{bcrypt}old");
+
+        verify(repository, timeout(2000)).save(user);
+        assertThat(user.getPassword()).isEqualTo("{bcrypt}new");
+        assertThat(registry.get("owms.uaa.password.rehashed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test void testKeepConcurrentlyChangedHash() {
+        var user = new User("tester", "{bcrypt}changed");
+        when(enc.upgradeEncoding("{bcrypt}old")).thenReturn(true);
+        when(enc.encode("secret")).thenReturn("{bcrypt}new");
+        when(repository.findByUsername("tester")).thenReturn(Optional.of(user));
+
+        testee.rehashIfNeeded("tester", "secret", "{bcrypt}old");
+
+        verify(repository, timeout(2000)).findByUsername("tester");
+        verify(repository, after(200).never()).save(any());
+        assertThat(user.getPassword()).isEqualTo("{bcrypt}changed");
+    }
+
+    @Test void testCurrentHashIsNotRehashed() {
+        when(enc.upgradeEncoding("{bcrypt}current")).thenReturn(false);
+
+        testee.rehashIfNeeded("tester", "secret", "{bcrypt}current");
+
+        verify(enc, after(200).never()).encode(any());
+        verify(repository, never()).findByUsername(any());
+    }
+}
@@ -24,6 +24,7 @@ package org.openwms.core.uaa.impl;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import org.ameba.app.ValidationConfiguration;
+import org.ameba.exception.NotFoundException;
 import org.ameba.exception.ResourceExistsException;
 import org.ameba.i18n.Translator;
 import org.junit.jupiter.api.Test;
@@ -34,6 +35,7 @@ import org.openwms.core.uaa.RoleMapper;
 import org.openwms.core.uaa.RoleService;
 import org.openwms.core.uaa.UserService;
 import org.openwms.core.uaa.api.RoleVO;
+import org.openwms.core.uaa.api.UserVO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -44,13 +46,24 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
 
 /**
  * A RoleServiceIT.
@@ -60,15 +73,19 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @ExtendWith(SpringExtension.class)
 @DataJpaTest(
         showSql = false,
+        properties = "owms.security.authority-snapshots.enabled=true",
         includeFilters =
                 {
                         @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = RoleService.class),
-                        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = GrantService.class)
+                        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = GrantService.class),
+                        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = AuthoritySnapshots.class),
+                        @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = EntityStreamer.class)
                 }
 )
 @Sql("classpath:test.sql")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Import(ValidationConfiguration.class)
+@RecordApplicationEvents
 class RoleServiceIT extends TestBase {
 
     @Autowired
@@ -78,7 +95,15 @@ class RoleServiceIT extends TestBase {
     @MockitoBean
     private Translator translator;
     @Autowired
+    private ApplicationEvents events;
+    @Autowired
     private RoleService testee;
+    @Autowired
+    private AuthoritySnapshots snapshots;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @TestConfiguration
     public static class TestConfig {
@@ -142,4 +167,89 @@ class RoleServiceIT extends TestBase {
     @Test void testFindByNames() {
         assertThat(testee.findByNames(asList("ROLE_ADMIN", "ROLE_OPS", "SEC_UAA_USER_LOOKUP"))).hasSize(2);
     }
-}
\ No newline at end of file
+
+    @Test void testFindUsers() {
+        entityManager.getEntityManager().createNativeQuery("insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) values (1000, 1001)")
+                .executeUpdate();
+
+        var first = testee.findUsers("1", null, 1);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first).extracting(UserVO::getUsername).containsExactly("jenkins");
+        assertThat(first.getContent().get(0).getpKey()).isEqualTo("96baa849-dd19-4b19-8c5e-895d3b7f405d");
+        var next = testee.findUsers("1", "jenkins", 1);
+        assertThat(next.hasNext()).isFalse();
+        assertThat(next).extracting(UserVO::getUsername).containsExactly("tester");
+    }
+
+    @Test void testFindUsersOfUnknownRole() {
+        assertThrows(NotFoundException.class, () -> testee.findUsers("UNKNOWN", null, 10));
+    }
+
+    @Test void testAssignAndUnassignUser() {
+        var user = entityManager.find(User.class, 1001L);
+        when(userService.findByPKey(user.getPersistentKey())).thenReturn(user);
+
+        testee.assignUser("1", user.getPersistentKey());
+        testee.assignUser("1", user.getPersistentKey());
+        assertThat(testee.findUsers("1", null, 10)).extracting(UserVO::getUsername).containsExactly("jenkins", "tester");
+
+        testee.unassignUser("1", user.getPersistentKey());
+        assertThat(testee.findUsers("1", null, 10)).extracting(UserVO::getUsername).containsExactly("jenkins");
+        assertThat(events.stream(RoleEvent.class)).hasSize(2);
+    }
+
+    @Test void testAssignedUsersAreNotStale() {
+        var user = entityManager.find(User.class, 1001L);
+        when(userService.findByPKey(user.getPersistentKey())).thenReturn(user);
+        assertThat(entityManager.find(Role.class, 1000L).getUsers()).extracting(User::getUsername).containsExactly("jenkins");
+
+        testee.assignUser("1", user.getPersistentKey());
+        assertThat(entityManager.find(Role.class, 1000L).getUsers()).extracting(User::getUsername)
+                .containsExactlyInAnyOrder("jenkins", "tester");
+
+        testee.unassignUser("1", user.getPersistentKey());
+        assertThat(entityManager.find(Role.class, 1000L).getUsers()).extracting(User::getUsername).containsExactly("jenkins");
+    }
+
+    @Test void testAssignAndUnassignUsers() {
+        var keys = List.of("96baa849-dd19-4b19-8c5e-895d3b7f405d", "96baa849-dd19-4b19-8c5e-895d3b7f405e");
+
+        testee.assignUsers("1", keys);
+        assertThat(testee.findUsers("1", null, 10)).extracting(UserVO::getUsername).containsExactly("jenkins", "tester");
+        assertThat(events.stream(RoleEvent.class)).singleElement()
+                .satisfies(e -> assertThat(e.getAffectedUsernames()).containsExactly("tester"));
+
+        testee.unassignUsers("1", keys);
+        assertThat(testee.findUsers("1", null, 10)).isEmpty();
+        assertThat(events.stream(RoleEvent.class)).hasSize(2).last()
+                .satisfies(e -> assertThat(e.getAffectedUsernames()).containsExactlyInAnyOrder("jenkins", "tester"));
+    }
+
+    @Test void testAssignUsersWithUnknownUser() {
+        var keys = List.of("96baa849-dd19-4b19-8c5e-895d3b7f405e", "UNKNOWN");
+        assertThrows(NotFoundException.class, () -> testee.assignUsers("1", keys));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Sql("classpath:test.sql")
+    @Sql(scripts = "classpath:test.sql", executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+    void testSnapshotCalculatedWhileARevocationCommitsIsDropped() {
+        var tx = new TransactionTemplate(transactionManager);
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        tx.executeWithoutResult(status -> {
+            testee.unassignUsers("1", List.of("96baa849-dd19-4b19-8c5e-895d3b7f405d"));
+
+            // A concurrent login reads the committed state, that still holds the Role, before the revocation commits
+            var stale = CompletableFuture.supplyAsync(() -> readOnly.execute(s ->
+                    snapshots.snapshotOf(userRepository.findAuthentication("jenkins").orElseThrow()))).join();
+            assertThat(stale.authorities()).contains("SEC_UAA_USER_LOOKUP");
+            assertThat(snapshots.find("jenkins")).contains(stale);
+        });
+
+        assertThat(snapshots.find("jenkins")).isEmpty();
+        var current = readOnly.execute(s -> snapshots.snapshotOf(userRepository.findAuthentication("jenkins").orElseThrow()));
+        assertThat(current.authorities()).isEmpty();
+    }
+}
@@ -22,24 +22,38 @@
 package org.openwms.core.uaa.impl;
 
 import org.assertj.core.api.Assertions;
+import org.ehcache.config.CacheRuntimeConfiguration;
 import org.ehcache.core.Ehcache;
+import org.ehcache.event.CacheEvent;
+import org.ehcache.event.CacheEventListener;
+import org.ehcache.event.EventFiring;
+import org.ehcache.event.EventOrdering;
+import org.ehcache.event.EventType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.openwms.core.uaa.UserService;
 import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -58,7 +72,11 @@ class SecurityContextUserServiceImplTest {
     @Mock
     private UserService userService;
     @Mock
+    private UserRepository repository;
+    @Mock
     private PasswordEncoder encoder;
+    @Spy
+    private AuthoritySnapshots authoritySnapshots = new AuthoritySnapshots(true);
     @InjectMocks
     private SecurityContextUserServiceImpl srv;
 
@@ -67,9 +85,75 @@ class SecurityContextUserServiceImplTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    private static UserAuthentication authentication(String username, Set<String> securityObjectKeys) {
+        return new UserAuthentication(username + "_KEY", username, "password", true, false, null, Set.of(), securityObjectKeys);
+    }
+
     @Test final void testOnApplicationEventWithCache() {
-        srv.onApplicationEvent(new UserEvent(new User("test"), UserEvent.EventType.CREATED));
-        verify(cache).clear();
+        srv.onUserEvent(new UserEvent(new User("test"), UserEvent.EventType.CREATED));
+        verify(userCache).removeUserFromCache("test");
+        verify(cache, never()).clear();
+    }
+
+    @Test final void testOnRoleEventEvictsHoldersOnly() {
+        var role = new Role("OPS");
+        role.setPersistentKey("role1");
+        when(userCache.getUserFromCache("HOLDER")).thenReturn(null);
+        when(repository.findAuthentication("HOLDER")).thenReturn(Optional.of(authentication("HOLDER", Set.of("role1"))));
+        srv.loadUserByUsername("HOLDER");
+
+        srv.onRoleEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED, List.of("ASSIGNED")));
+
+        verify(userCache).removeUserFromCache("HOLDER");
+        verify(userCache).removeUserFromCache("ASSIGNED");
+        verify(userCache, never()).removeUserFromCache(TEST_USER);
+        verify(cache, never()).clear();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    final void testExpiredEntriesArePrunedFromTheIndex() {
+        var role = new Role("OPS");
+        role.setPersistentKey("role1");
+        var configuration = mock(CacheRuntimeConfiguration.class);
+        when(cache.getRuntimeConfiguration()).thenReturn(configuration);
+        srv.afterPropertiesSet();
+        var listener = ArgumentCaptor.forClass(CacheEventListener.class);
+        verify(configuration).registerCacheEventListener(listener.capture(), eq(EventOrdering.UNORDERED), eq(EventFiring.SYNCHRONOUS),
+                eq(EnumSet.of(EventType.EXPIRED, EventType.EVICTED)));
+        when(userCache.getUserFromCache("HOLDER")).thenReturn(null);
+        when(repository.findAuthentication("HOLDER")).thenReturn(Optional.of(authentication("HOLDER", Set.of("role1"))));
+        srv.loadUserByUsername("HOLDER");
+
+        var expired = mock(CacheEvent.class);
+        when(expired.getKey()).thenReturn("HOLDER");
+        listener.getValue().onEvent(expired);
+        srv.onRoleEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED, List.of()));
+
+        verify(userCache, never()).removeUserFromCache("HOLDER");
+    }
+
+    @Test final void testUserDetailsReadBeforeAnEvictionAreNotKept() {
+        var role = new Role("OPS");
+        role.setPersistentKey("role1");
+        when(userCache.getUserFromCache("HOLDER")).thenReturn(null);
+        when(repository.findAuthentication("HOLDER")).thenAnswer(invocation -> {
+            // The revocation commits after the old assignment has been read
+            srv.onRoleEvent(new RoleEvent(role, RoleEvent.EventType.MODIFIED, List.of("HOLDER")));
+            return Optional.of(authentication("HOLDER", Set.of("role1")));
+        });
+
+        var ud = srv.loadUserByUsername("HOLDER");
+
+        verify(userCache).putUserInCache(ud);
+        verify(userCache, times(2)).removeUserFromCache("HOLDER");
+    }
+
+    @Test final void testOnGrantEventEvictsSystemUser() {
+        var grant = new Grant("SEC_NEW");
+        grant.setPersistentKey("grant1");
+        srv.onGrantEvent(new GrantEvent(grant, GrantEvent.EventType.CREATED));
+        verify(userCache).removeUserFromCache(SystemUser.SYSTEM_USERNAME);
     }
 
     @Test final void testLoadUserByUsernameFromCache() {
@@ -97,15 +181,31 @@ class SecurityContextUserServiceImplTest {
         assertTrue(cachedUser.getUsername().equalsIgnoreCase(SystemUser.SYSTEM_USERNAME));
     }
 
+    @Test final void testLoadUserByUsernameSystemUserEncodedOnce() {
+        var su = new SystemUser(SystemUser.SYSTEM_USERNAME, SystemUser.SYSTEM_USERNAME);
+        when(userCache.getUserFromCache(SystemUser.SYSTEM_USERNAME)).thenReturn(null);
+        when(userService.createSystemUser()).thenReturn(su);
+        when(encoder.encode(SystemUser.SYSTEM_USERNAME)).thenReturn(SystemUser.SYSTEM_USERNAME);
+
+        var first = srv.loadUserByUsername(SystemUser.SYSTEM_USERNAME);
+        var second = srv.loadUserByUsername(SystemUser.SYSTEM_USERNAME);
+        assertTrue(first == second);
+        verify(encoder, times(1)).encode(SystemUser.SYSTEM_USERNAME);
+
+        srv.onGrantEvent(new GrantEvent(new Grant("SEC_NEW"), GrantEvent.EventType.CREATED));
+        srv.loadUserByUsername(SystemUser.SYSTEM_USERNAME);
+        verify(encoder, times(2)).encode(SystemUser.SYSTEM_USERNAME);
+    }
+
     @Test final void testLoadUserByUsernameNotCached() {
         when(userCache.getUserFromCache("NOT_CACHED_USER")).thenReturn(null);
-        when(userService.findByUsername("NOT_CACHED_USER")).thenReturn(Optional.of(new User("NOT_CACHED_USER", "password")));
+        when(repository.findAuthentication("NOT_CACHED_USER")).thenReturn(Optional.of(authentication("NOT_CACHED_USER", Set.of())));
 
         UserDetails cachedUser;
         cachedUser = srv.loadUserByUsername("NOT_CACHED_USER");
 
         verify(userService, never()).createSystemUser();
-        verify(userService).findByUsername("NOT_CACHED_USER");
+        verify(repository).findAuthentication("NOT_CACHED_USER");
 
         assertTrue(cachedUser instanceof SecureUser);
         verify(userCache).putUserInCache((cachedUser));
@@ -114,13 +214,13 @@ class SecurityContextUserServiceImplTest {
 
     @Test final void testLoadUserByUsernameNotFound() {
         when(userCache.getUserFromCache("UNKNOWN_USER")).thenReturn(null);
-        when(userService.findByUsername("UNKNOWN_USER")).thenReturn(Optional.empty());
+        when(repository.findAuthentication("UNKNOWN_USER")).thenReturn(Optional.empty());
 
         UserDetails cachedUser = null;
         Assertions.assertThatThrownBy(() -> srv.loadUserByUsername("UNKNOWN_USER")).isInstanceOf(UsernameNotFoundException.class);
 
         verify(userService, never()).createSystemUser();
-        verify(userService).findByUsername("UNKNOWN_USER");
+        verify(repository).findAuthentication("UNKNOWN_USER");
         verify(userCache, never()).putUserInCache(((UserWrapper) cachedUser));
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.TestBase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A SequenceRealignerIT.
+ *
+ * @author Heiko Scherrer
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SequenceRealignerIT extends TestBase {
+
+    private static final String POOLED = "META-INF/uaa-orm-pooled.xml";
+    private static final String UNPOOLED = "META-INF/uaa-orm.xml";
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test void testAllocationSizesOf() {
+        assertThat(SequenceRealigner.allocationSizesOf(List.of(POOLED))).hasSize(5).containsEntry("uaa_user_seq", 50);
+        assertThat(SequenceRealigner.allocationSizesOf(List.of(UNPOOLED))).hasSize(5).containsEntry("uaa_image_seq", 1);
+    }
+
+    @Test void testRealign() {
+        var testee = new SequenceRealigner(true, SequenceRealigner.allocationSizesOf(List.of(POOLED)), jdbcTemplate);
+        try {
+            assertThat(testee.realign()).isEqualTo(5);
+            assertThat(jdbcTemplate.queryForObject(
+                    "select increment from information_schema.sequences where lower(sequence_name) = 'uaa_user_seq'", Long.class))
+                    .isEqualTo(50L);
+            assertThat(testee.realign()).isZero();
+        } finally {
+            new SequenceRealigner(true, SequenceRealigner.allocationSizesOf(List.of(UNPOOLED)), jdbcTemplate).realign();
+        }
+    }
+}
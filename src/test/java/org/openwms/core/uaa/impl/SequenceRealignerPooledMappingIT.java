@@ -0,0 +1,92 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.TestBase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A SequenceRealignerPooledMappingIT boots with the pooled mapping on a schema that has been created with the unpooled mapping, where
+ * each sequence increments by 1.
+ *
+ * @author Heiko Scherrer
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=" + SequenceRealignerPooledMappingIT.URL,
+        "spring.jpa.mapping-resources=META-INF/uaa-orm-pooled.xml",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "owms.uaa.id.realign-sequences=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SequenceRealigner.class, SequenceRealigner.EntityManagerFactoryDependsOnSequenceRealigner.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SequenceRealignerPooledMappingIT extends TestBase {
+
+    static final String URL = "jdbc:h2:mem:realign;DB_CLOSE_DELAY=-1";
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "uaa_user_seq", "COR_UAA_USER",
+            "uaa_so_seq", "COR_UAA_ROLE",
+            "uaa_email_seq", "COR_UAA_EMAIL",
+            "uaa_up_seq", "COR_UAA_USER_PASSWORD",
+            "uaa_image_seq", "COR_UAA_USER_IMAGE"
+    );
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeAll
+    static void createUnpooledSchema() throws SQLException {
+        try (var connection = DriverManager.getConnection(URL, "sa", ""); var statement = connection.createStatement()) {
+            for (var entry : SEQUENCES.entrySet()) {
+                statement.execute("create sequence %s start with 1 increment by 1".formatted(entry.getKey()));
+                statement.execute("create table %s (C_PK bigint primary key)".formatted(entry.getValue()));
+            }
+            statement.execute("insert into COR_UAA_USER (C_PK) values (120)");
+        }
+    }
+
+    @Test void testBootWithPooledMapping() {
+        assertThat(entityManagerFactory.isOpen()).isTrue();
+        for (var sequence : SEQUENCES.keySet()) {
+            assertThat(jdbcTemplate.queryForObject(
+                    "select increment from information_schema.sequences where lower(sequence_name) = ?", Long.class, sequence))
+                    .as(sequence).isEqualTo(50L);
+        }
+        assertThat(jdbcTemplate.queryForObject("select next value for uaa_user_seq", Long.class)).isEqualTo(170L);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.uaa.ChangeFeed;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A UAAEventListenerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class UAAEventListenerTest {
+
+    private static OutboxMessage userEvent(String pKey, String type) {
+        return new OutboxMessage(ChangeFeed.EntityType.USER, pKey, "user" + pKey, type);
+    }
+
+    @Test void testCoalescePerUser() {
+        var registry = new SimpleMeterRegistry();
+        var testee = new UAAEventListener(Duration.ofHours(1), 10, registry, () -> {});
+
+        testee.handle(List.of(userEvent("1", "CREATED"), userEvent("2", "CREATED")));
+        testee.handle(List.of(userEvent("1", "MODIFIED"), new OutboxMessage(ChangeFeed.EntityType.ROLE, "3", "ROLE_OPS", "MODIFIED")));
+        assertThat(registry.get("owms.uaa.events.queue").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("owms.uaa.events.coalesced").counter().count()).isEqualTo(1.0);
+
+        testee.process();
+        assertThat(registry.get("owms.uaa.events.queue").gauge().value()).isZero();
+        assertThat(registry.get("owms.uaa.events.lag").timer().count()).isEqualTo(2);
+        testee.destroy();
+    }
+
+    @Test void testRejectWhenBufferIsFull() {
+        var registry = new SimpleMeterRegistry();
+        var relayed = new AtomicInteger();
+        var testee = new UAAEventListener(Duration.ofHours(1), 1, registry, relayed::incrementAndGet);
+
+        testee.handle(List.of(userEvent("1", "CREATED")));
+        var next = List.of(userEvent("2", "CREATED"));
+        assertThatThrownBy(() -> testee.handle(next)).isInstanceOf(IllegalStateException.class);
+
+        testee.process();
+        assertThat(relayed).hasValue(1);
+        testee.handle(next);
+        assertThat(registry.get("owms.uaa.events.queue").gauge().value()).isEqualTo(1.0);
+
+        testee.process();
+        assertThat(relayed).hasValue(1);
+        testee.destroy();
+    }
+
+    @Test void testProcessAfterWindow() throws Exception {
+        var registry = new SimpleMeterRegistry();
+        var testee = new UAAEventListener(Duration.ofMillis(10), 10, registry, () -> {});
+
+        testee.handle(List.of(userEvent("1", "CREATED")));
+        var lag = registry.get("owms.uaa.events.lag").timer();
+        for (var i = 0; i < 100 && lag.count() == 0; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(lag.count()).isOne();
+        testee.destroy();
+    }
+
+    @Test void testWipePasswordOfTheChangedUser() {
+        var user = new User("tester", "{noop}secret");
+        var testee = new UAAEventListener(Duration.ofHours(1), 10, new SimpleMeterRegistry(), () -> {});
+
+        testee.onUserEvent(new UserEvent(user, UserEvent.EventType.MODIFIED));
+        assertThat(user.getPassword()).isNull();
+        testee.destroy();
+    }
+}
@@ -21,6 +21,8 @@
  */
 package org.openwms.core.uaa.impl;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import org.ameba.app.ValidationConfiguration;
@@ -31,7 +33,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.openwms.core.TestBase;
 import org.openwms.core.uaa.UserMapper;
+import org.openwms.core.uaa.UserFilter;
 import org.openwms.core.uaa.UserService;
+import org.openwms.core.uaa.api.UserVO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -41,6 +45,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.plugin.core.config.EnablePluginRegistries;
 import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -49,6 +56,11 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.validation.beanvalidation.MethodValidationPostProcessor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -62,6 +74,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
         showSql = false,
         includeFilters = {
                 @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = UserService.class),
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = CredentialCache.class),
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = PasswordHashingExecutor.class),
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = PasswordRehasher.class),
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = UserThumbnails.class),
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = UserImporter.class),
+                @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = EntityStreamer.class),
                 @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, value = PasswordEncoder.class)
         }
 )
@@ -76,6 +94,8 @@ class UserServiceIT extends TestBase {
     @Autowired
     private UserService srv;
     @Autowired
+    private UserRepository repository;
+    @Autowired
     private TestEntityManager entityManager;
     @MockitoBean
     private Translator translator;
@@ -97,6 +117,10 @@ class UserServiceIT extends TestBase {
         PasswordEncoder passwordEncoder() {
             return NoOpPasswordEncoder.getInstance();
         }
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
     }
 
     /**
@@ -114,10 +138,49 @@ class UserServiceIT extends TestBase {
         assertThatThrownBy(() -> srv.uploadImageFile("100L", new byte[222])).isInstanceOf(NotFoundException.class);
     }
 
-    @Test void testUploadImage() {
-        srv.uploadImageFile(findUser(KNOWN_USER).getPersistentKey(), new byte[222]);
-        var user = findUser(KNOWN_USER);
-        assertThat(user.getUserDetails().getImage()).hasSize(222);
+    @Test void testUploadImage() throws Exception {
+        var pKey = findUser(KNOWN_USER).getPersistentKey();
+        srv.uploadImageFile(pKey, new byte[222]);
+        srv.uploadImageFile(pKey, new byte[111]);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(srv.findImage(pKey).getSize()).isEqualTo(111);
+        var out = new ByteArrayOutputStream();
+        srv.writeImage(pKey, 0, 111, out);
+        assertThat(out.toByteArray()).hasSize(111);
+    }
+
+    @Test void testUploadImageStreamAndReadRange() throws Exception {
+        var pKey = findUser(KNOWN_USER).getPersistentKey();
+        var data = "0123456789".getBytes(StandardCharsets.UTF_8);
+        var first = srv.uploadImage(pKey, new ByteArrayInputStream(data), data.length).getTag();
+        entityManager.flush();
+        entityManager.clear();
+
+        var image = srv.findImage(pKey);
+        assertThat(image.getSize()).isEqualTo(10);
+        assertThat(image.getTag()).isEqualTo(first);
+        var out = new ByteArrayOutputStream();
+        srv.writeImage(pKey, 2, 3, out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("234");
+
+        var second = srv.uploadImage(pKey, new ByteArrayInputStream(data), data.length).getTag();
+        assertThat(second).isNotEqualTo(first);
+    }
+
+    @Test void testImageNotFound() {
+        var pKey = findUser(KNOWN_USER).getPersistentKey();
+        assertThatThrownBy(() -> srv.findImage(pKey)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> srv.findImage("100L")).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test void testDeleteUserWithImage() {
+        var pKey = findUser(KNOWN_USER).getPersistentKey();
+        srv.uploadImageFile(pKey, new byte[10]);
+        srv.delete(pKey);
+        entityManager.flush();
+        assertThatThrownBy(() -> srv.findByPKey(pKey)).isInstanceOf(NotFoundException.class);
     }
 
     @Test void testSaveWithNull() {
@@ -145,6 +208,142 @@ class UserServiceIT extends TestBase {
         assertThat(srv.findAll()).hasSizeGreaterThan(0);
     }
 
+    @Test void testFindAllFiltered() {
+        var locked = new User("KNOWN_LOCKED");
+        locked.setLocked(true);
+        entityManager.getEntityManager().persist(locked);
+        entityManager.getEntityManager().persist(new User("KNOWNX"));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(srv.findAll(new UserFilter("KNOWN", null, null, null, null), PageRequest.of(0, 10)))
+                .extracting(User::getUsername).containsExactly("KNOWN", "KNOWNX", "KNOWN_LOCKED");
+        assertThat(srv.findAll(new UserFilter("KNOWN_", null, null, null, null), PageRequest.of(0, 10)))
+                .extracting(User::getUsername).containsExactly("KNOWN_LOCKED");
+        assertThat(srv.findAll(new UserFilter("KNOWN", null, false, null, null), PageRequest.of(0, 10)))
+                .extracting(User::getUsername).containsExactly("KNOWN", "KNOWNX");
+    }
+
+    @Test void testFindAllSliced() {
+        entityManager.getEntityManager().persist(new User("KNOWN1"));
+        entityManager.getEntityManager().persist(new User("KNOWN2"));
+        entityManager.flush();
+        entityManager.clear();
+
+        var first = srv.findAll(new UserFilter("KNOWN", null, null, null, null), PageRequest.of(0, 2));
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first).extracting(User::getUsername).containsExactly("KNOWN", "KNOWN1");
+        var next = srv.findAll(new UserFilter("KNOWN", null, null, null, "KNOWN1"), PageRequest.of(0, 2));
+        assertThat(next.hasNext()).isFalse();
+        assertThat(next).extracting(User::getUsername).containsExactly("KNOWN2");
+    }
+
+    @Test void testFindAllUnpaged() {
+        for (var i = 0; i < 150; i++) {
+            entityManager.getEntityManager().persist(new User("KNOWN%03d".formatted(i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        var all = srv.findAllVOs(new UserFilter("KNOWN", null, null, null, null), Pageable.unpaged(Sort.by("username")));
+        assertThat(all.hasNext()).isFalse();
+        assertThat(all).hasSize(151);
+        assertThat(all.getContent().get(1).getUsername()).isEqualTo("KNOWN000");
+    }
+
+    @Test void testFindVOs() {
+        var em = entityManager.getEntityManager();
+        var user = new User("KNOWN_VIEW");
+        user.setFullname("Mr. View");
+        user.addNewEmailAddress(new Email(user, "view@acme.com", true));
+        em.persist(user);
+        var ops = new Role("OPS");
+        ops.addUser(user);
+        var admin = new Role("ADMIN");
+        admin.addUser(user);
+        em.persist(ops);
+        em.persist(admin);
+        entityManager.flush();
+        entityManager.clear();
+
+        var vo = srv.findVOByPKey(user.getPersistentKey());
+        assertThat(vo.getUsername()).isEqualTo("KNOWN_VIEW");
+        assertThat(vo.getFullname()).isEqualTo("Mr. View");
+        assertThat(vo.getRoleNames()).containsExactly("ADMIN", "OPS");
+        assertThat(vo.getEmailAddresses()).hasSize(1);
+        assertThat(vo.getEmailAddresses().get(0).getEmailAddress()).isEqualTo("view@acme.com");
+
+        var slice = srv.findAllVOs(new UserFilter("KNOWN", null, null, null, null), PageRequest.of(0, 1));
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(slice).extracting(UserVO::getUsername).containsExactly("KNOWN");
+        assertThat(slice.getContent().get(0).getRoleNames()).isEmpty();
+        assertThat(srv.findAllVOs(new UserFilter("KNOWN", null, null, null, "KNOWN"), PageRequest.of(0, 10)))
+                .extracting(UserVO::getUsername).containsExactly("KNOWN_VIEW");
+
+        assertThatThrownBy(() -> srv.findVOByPKey("UNKNOWN")).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test void testExportAll() {
+        entityManager.getEntityManager().persist(new User("KNOWN1"));
+        entityManager.flush();
+        entityManager.clear();
+
+        var usernames = new ArrayList<String>();
+        var exported = srv.exportAll(user -> usernames.add(user.getUsername()));
+        assertThat(exported).isEqualTo(usernames.size()).isEqualTo(srv.findAll().size());
+        assertThat(usernames).contains("KNOWN", "KNOWN1");
+    }
+
+    @Test void testExportAllVOs() {
+        var em = entityManager.getEntityManager();
+        for (var i = 0; i < 1200; i++) {
+            var user = new User("KNOWN%04d".formatted(i));
+            user.addNewEmailAddress(new Email(user, "known%04d@acme.com".formatted(i), true));
+            em.persist(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        var vos = new ArrayList<UserVO>();
+        var exported = srv.exportAllVOs(vos::add);
+        assertThat(exported).isEqualTo(vos.size()).isEqualTo(srv.findAll().size());
+        assertThat(vos).extracting(UserVO::getUsername).isSorted().doesNotHaveDuplicates();
+        assertThat(vos).filteredOn(vo -> vo.getUsername().equals("KNOWN1199")).singleElement()
+                .satisfies(vo -> assertThat(vo.getEmailAddresses()).hasSize(1));
+    }
+
+    @Test void testFindAuthentication() {
+        var em = entityManager.getEntityManager();
+        var read = new Grant("SEC_READ");
+        var write = new Grant("SEC_WRITE");
+        em.persist(read);
+        em.persist(write);
+        var user = new User("KNOWN_ROLES");
+        em.persist(user);
+        var ops = new Role("OPS");
+        ops.addGrant(read);
+        ops.addUser(user);
+        var admin = new Role("ADMIN");
+        admin.addGrant(read);
+        admin.addGrant(write);
+        admin.addUser(user);
+        em.persist(ops);
+        em.persist(admin);
+        entityManager.flush();
+        entityManager.clear();
+
+        var authentication = repository.findAuthentication("KNOWN_ROLES").orElseThrow();
+        assertThat(authentication.pKey()).isEqualTo(user.getPersistentKey());
+        assertThat(authentication.enabled()).isTrue();
+        assertThat(authentication.locked()).isFalse();
+        assertThat(authentication.authorities()).containsExactlyInAnyOrder("SEC_READ", "SEC_WRITE");
+        assertThat(authentication.securityObjectKeys()).containsExactlyInAnyOrder(ops.getPersistentKey(), admin.getPersistentKey(),
+                read.getPersistentKey(), write.getPersistentKey());
+
+        assertThat(repository.findAuthentication(KNOWN_USER).orElseThrow().authorities()).isEmpty();
+        assertThat(repository.findAuthentication(UNKNOWN_USER)).isEmpty();
+    }
+
     @Test void testFindById() {
         var users = srv.findAll();
         assertThat(users).hasSizeGreaterThan(0);
@@ -166,6 +365,14 @@ class UserServiceIT extends TestBase {
         assertThat(user.getRoles()).hasSize(1);
     }
 
+    @Test void testCreateSystemUserIsKeptUntilGrantEvent() {
+        var user = srv.createSystemUser();
+        assertThat(srv.createSystemUser()).isSameAs(user);
+
+        ((UserServiceImpl) srv).onGrantEvent(new GrantEvent(new Grant("SEC_NEW"), GrantEvent.EventType.CREATED));
+        assertThat(srv.createSystemUser()).isNotSameAs(user);
+    }
+
     private User findUser(String userName) {
         return (User) entityManager.getEntityManager().createQuery("select u from User u where u.username = :name").setParameter("name", userName)
                 .getSingleResult();
@@ -130,4 +130,32 @@ class UserTest {
         users.add(user3);
         assertThat(users).hasSize(2);
     }
-}
\ No newline at end of file
+
+    @Test void testRehashPasswordKeepsHistory() throws Exception {
+        var encoder = new BCryptPasswordEncoder(4);
+        var user = new User(TEST_USER1);
+        user.changePassword(encoder.encode(TEST_PASSWORD), TEST_PASSWORD, encoder);
+        var lastChange = user.getLastPasswordChange();
+        var history = user.getPasswords().size();
+
+        var rehashed = new BCryptPasswordEncoder(5).encode(TEST_PASSWORD);
+        user.rehashPassword(rehashed);
+
+        assertThat(user.getPassword()).isEqualTo(rehashed);
+        assertThat(user.getLastPasswordChange()).isEqualTo(lastChange);
+        assertThat(user.getPasswords()).hasSize(history);
+    }
+
+    @Test void testGetGrantsIsDeduplicated() {
+        var grant = new Grant("SEC_READ");
+        var role1 = new Role("ROLE_1");
+        role1.addGrant(grant);
+        var role2 = new Role("ROLE_2");
+        role2.addGrant(grant);
+        var user = new User(TEST_USER1);
+        user.addRole(role1);
+        user.addRole(role2);
+
+        assertThat(user.getGrants()).containsExactly(grant);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * openwms.org, the Open Warehouse Management System.
+ * Copyright (C) 2025 Heiko Scherrer
+ *
+ * This file is part of openwms.org.
+ *
+ * openwms.org is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as 
+ * published by the Free Software Foundation; either version 2 of the
+ * License, or (at your option) any later version.
+ *
+ * openwms.org is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this software. If not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.openwms.core.uaa.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A UserThumbnailsTest.
+ *
+ * @author Heiko Scherrer
+ */
+class UserThumbnailsTest {
+
+    private final UserImageRepository repository = mock(UserImageRepository.class);
+
+    private UserThumbnails testee(Duration ttl) {
+        return new UserThumbnails(64, 10, ttl, repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test void testCachedWithinTtl() {
+        when(repository.findByUserPKey("1")).thenReturn(Optional.empty());
+        var testee = testee(Duration.ofHours(1));
+
+        assertThat(testee.find("1", null)).isEmpty();
+        assertThat(testee.find("1", null)).isEmpty();
+        verify(repository, times(1)).findByUserPKey("1");
+    }
+
+    @Test void testReloadedAfterTtl() {
+        var image = new UserImage(new User("tester"));
+        image.setImage(new byte[]{1});
+        image.setThumbnail(new byte[]{2});
+        when(repository.findByUserPKey("1")).thenReturn(Optional.empty(), Optional.of(image));
+        var testee = testee(Duration.ZERO);
+
+        assertThat(testee.find("1", null)).isEmpty();
+        assertThat(testee.find("1", null)).hasValueSatisfying(t -> assertThat(t.tag()).isEqualTo(image.getTag()));
+        verify(repository, times(2)).findByUserPKey("1");
+    }
+
+    @Test void testReloadedForANewTag() {
+        var image = new UserImage(new User("tester"));
+        image.setImage(new byte[]{1});
+        image.setThumbnail(new byte[]{2});
+        var oldTag = image.getTag();
+        when(repository.findByUserPKey("1")).thenReturn(Optional.of(image));
+        var testee = testee(Duration.ofHours(1));
+        assertThat(testee.find("1", null)).hasValueSatisfying(t -> assertThat(t.tag()).isEqualTo(oldTag));
+
+        // The image is replaced through another instance
+        image.setImage(new byte[]{3});
+        image.setThumbnail(new byte[]{4});
+
+        assertThat(testee.find("1", oldTag)).hasValueSatisfying(t -> assertThat(t.tag()).isEqualTo(oldTag));
+        assertThat(testee.find("1", image.getTag())).hasValueSatisfying(t -> assertThat(t.data()).containsExactly(4));
+        assertThat(testee.find("1", image.getTag())).hasValueSatisfying(t -> assertThat(t.data()).containsExactly(4));
+        verify(repository, times(2)).findByUserPKey("1");
+    }
+}
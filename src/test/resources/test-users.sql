@@ -0,0 +1,62 @@
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1100, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001100', now(), 'TestUser', true, null, false, 'Bulk user 0', now(), false, '{noop}secret', 'bulk-00');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1101, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001101', now(), 'TestUser', true, null, false, 'Bulk user 1', now(), false, '{noop}secret', 'bulk-01');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1102, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001102', now(), 'TestUser', true, null, false, 'Bulk user 2', now(), false, '{noop}secret', 'bulk-02');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1103, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001103', now(), 'TestUser', true, null, false, 'Bulk user 3', now(), false, '{noop}secret', 'bulk-03');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1104, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001104', now(), 'TestUser', true, null, false, 'Bulk user 4', now(), false, '{noop}secret', 'bulk-04');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1105, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001105', now(), 'TestUser', true, null, false, 'Bulk user 5', now(), false, '{noop}secret', 'bulk-05');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1106, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001106', now(), 'TestUser', true, null, false, 'Bulk user 6', now(), false, '{noop}secret', 'bulk-06');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1107, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001107', now(), 'TestUser', true, null, false, 'Bulk user 7', now(), false, '{noop}secret', 'bulk-07');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1108, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001108', now(), 'TestUser', true, null, false, 'Bulk user 8', now(), false, '{noop}secret', 'bulk-08');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1109, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001109', now(), 'TestUser', true, null, false, 'Bulk user 9', now(), false, '{noop}secret', 'bulk-09');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1110, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001110', now(), 'TestUser', true, null, false, 'Bulk user 10', now(), false, '{noop}secret', 'bulk-10');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1111, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001111', now(), 'TestUser', true, null, false, 'Bulk user 11', now(), false, '{noop}secret', 'bulk-11');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1112, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001112', now(), 'TestUser', true, null, false, 'Bulk user 12', now(), false, '{noop}secret', 'bulk-12');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1113, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001113', now(), 'TestUser', true, null, false, 'Bulk user 13', now(), false, '{noop}secret', 'bulk-13');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1114, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001114', now(), 'TestUser', true, null, false, 'Bulk user 14', now(), false, '{noop}secret', 'bulk-14');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1115, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001115', now(), 'TestUser', true, null, false, 'Bulk user 15', now(), false, '{noop}secret', 'bulk-15');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1116, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001116', now(), 'TestUser', true, null, false, 'Bulk user 16', now(), false, '{noop}secret', 'bulk-16');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1117, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001117', now(), 'TestUser', true, null, false, 'Bulk user 17', now(), false, '{noop}secret', 'bulk-17');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1118, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001118', now(), 'TestUser', true, null, false, 'Bulk user 18', now(), false, '{noop}secret', 'bulk-18');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_USERNAME) values ('STANDARD', 1119, now(), 'SYSTEM', 1, '3c1e0b2a-0000-4000-8000-000000001119', now(), 'TestUser', true, null, false, 'Bulk user 19', now(), false, '{noop}secret', 'bulk-19');
+
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1100, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-00@acme.com', 'Bulk user 0', true, 1100);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1101, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-01@acme.com', 'Bulk user 1', true, 1101);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1102, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-02@acme.com', 'Bulk user 2', true, 1102);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1103, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-03@acme.com', 'Bulk user 3', true, 1103);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1104, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-04@acme.com', 'Bulk user 4', true, 1104);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1105, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-05@acme.com', 'Bulk user 5', true, 1105);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1106, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-06@acme.com', 'Bulk user 6', true, 1106);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1107, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-07@acme.com', 'Bulk user 7', true, 1107);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1108, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-08@acme.com', 'Bulk user 8', true, 1108);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1109, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-09@acme.com', 'Bulk user 9', true, 1109);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1110, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-10@acme.com', 'Bulk user 10', true, 1110);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1111, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-11@acme.com', 'Bulk user 11', true, 1111);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1112, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-12@acme.com', 'Bulk user 12', true, 1112);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1113, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-13@acme.com', 'Bulk user 13', true, 1113);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1114, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-14@acme.com', 'Bulk user 14', true, 1114);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1115, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-15@acme.com', 'Bulk user 15', true, 1115);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1116, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-16@acme.com', 'Bulk user 16', true, 1116);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1117, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-17@acme.com', 'Bulk user 17', true, 1117);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1118, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-18@acme.com', 'Bulk user 18', true, 1118);
+insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1119, now(), 'SYSTEM', 0, now(), 'TestUser', 'bulk-19@acme.com', 'Bulk user 19', true, 1119);
+
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1100);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1101);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1102);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1103);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1104);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1105);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1106);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1107);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1108);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1109);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1110);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1111);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1112);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1113);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1114);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1115);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1116);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1117);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1118);
+insert into COR_UAA_ROLE_USER (C_ROLE_ID, C_USER_ID) VALUES (1001, 1119);
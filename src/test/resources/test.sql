@@ -1,12 +1,15 @@
+delete from COR_UAA_CHANGE_LOG;
+delete from COR_UAA_OUTBOX;
 delete from COR_UAA_USER_PASSWORD;
 delete from COR_UAA_ROLE_ROLE;
 delete from COR_UAA_ROLE_USER;
 delete from COR_UAA_ROLE;
 delete from COR_UAA_EMAIL;
+delete from COR_UAA_USER_IMAGE;
 delete from COR_UAA_USER;
 
-insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_COMMENT, C_DEPARTMENT, C_DESCRIPTION, C_GENDER, C_IM, C_IMAGE, C_OFFICE, C_PHONE_NO, C_USERNAME) values ('STANDARD', 1000, '2020-06-22 19:02:47.404000', 'SYSTEM', 1, '96baa849-dd19-4b19-8c5e-895d3b7f405d', now(), 'TestUser', true, '2020-06-23 19:02:45.054756', true, 'Mister Jenkins', '2020-06-22 19:02:47.330440', true, '{bcrypt}$2a$15$baURCfRsoxem.eOv0IJDsup.9wEmHdiw.j8f0RaMflDbFnQWNipvG', 'Test administrator', 'Dep. 0', 'A virtual one', 'MALE', 'Skype:admine', null, 'Off. 4711', '001-1234-98765', 'jenkins');
-insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_COMMENT, C_DEPARTMENT, C_DESCRIPTION, C_GENDER, C_IM, C_IMAGE, C_OFFICE, C_PHONE_NO, C_USERNAME) values ('STANDARD', 1001, '2020-06-22 19:02:47.404000', 'SYSTEM', 1, '96baa849-dd19-4b19-8c5e-895d3b7f405e', now(), 'TestUser', true, '2020-06-23 19:02:45.054756', false, 'Tester', '2020-06-22 19:02:47.330440', false, '{bcrypt}$2a$15$baURCfRsoxem.eOv0IJDsup.9wEmHdiw.j8f0RaMflDbFnQWNipvG', 'testing only', 'Dep. 1', 'Just a test user', 'FEMALE', 'Skype:testee', null, 'Off. 815', '001-1234-56789', 'tester');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_COMMENT, C_DEPARTMENT, C_DESCRIPTION, C_GENDER, C_IM, C_OFFICE, C_PHONE_NO, C_USERNAME) values ('STANDARD', 1000, '2020-06-22 19:02:47.404000', 'SYSTEM', 1, '96baa849-dd19-4b19-8c5e-895d3b7f405d', now(), 'TestUser', true, '2020-06-23 19:02:45.054756', true, 'Mister Jenkins', '2020-06-22 19:02:47.330440', true, '{bcrypt}$2a$15$baURCfRsoxem.eOv0IJDsup.9wEmHdiw.j8f0RaMflDbFnQWNipvG', 'Test administrator', 'Dep. 0', 'A virtual one', 'MALE', 'Skype:admine', 'Off. 4711', '001-1234-98765', 'jenkins');
+insert into COR_UAA_USER (C_TYPE, C_PK, C_CREATED, C_CREATED_BY, C_OL, C_PID, C_UPDATED, C_UPDATED_BY, C_ENABLED, C_EXPIRATION_DATE, C_EXTERN, C_FULLNAME, C_LAST_PASSWORD_CHANGE, C_LOCKED, C_PASSWORD, C_COMMENT, C_DEPARTMENT, C_DESCRIPTION, C_GENDER, C_IM, C_OFFICE, C_PHONE_NO, C_USERNAME) values ('STANDARD', 1001, '2020-06-22 19:02:47.404000', 'SYSTEM', 1, '96baa849-dd19-4b19-8c5e-895d3b7f405e', now(), 'TestUser', true, '2020-06-23 19:02:45.054756', false, 'Tester', '2020-06-22 19:02:47.330440', false, '{bcrypt}$2a$15$baURCfRsoxem.eOv0IJDsup.9wEmHdiw.j8f0RaMflDbFnQWNipvG', 'testing only', 'Dep. 1', 'Just a test user', 'FEMALE', 'Skype:testee', 'Off. 815', '001-1234-56789', 'tester');
 
 insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1000, '2020-06-22 19:02:39.000000', 'SYSTEM', 0, now(), 'TestUser', 'admin.private@acme.com', 'Mr. Jenkins', true, 1000);
 insert into COR_UAA_EMAIL (C_PK, C_CREATED, C_CREATED_BY, C_OL, C_UPDATED, C_UPDATED_BY, C_ADDRESS, C_FULL_NAME, C_PRIMARY, C_USER_PK) values (1001, '2020-06-22 19:02:40.000000', 'SYSTEM', 0, now(), 'TestUser', 'admin@acme.com', 'Mr. Jenkins', false, 1000);